@@ -1,7 +1,7 @@
 import { useState, useEffect, useCallback } from 'react';
 import { useNavigate } from 'react-router-dom';
 import { ninjaApi, shopApi, adminApi, achievementApi, analyticsApi, ledgerApi } from '../services/api';
-import type { Ninja, Purchase, ShopItem, AdminAuditLog, Admin, CreateAdminByAdminRequest, ChangePasswordRequest, Achievement, AchievementCategory, BadgeRarity, CreateAchievementRequest, AwardAchievementRequest, AnalyticsSnapshot, LedgerTransaction, NinjaLoginLog } from '../types';
+import type { Ninja, Purchase, ShopItem, AdminAuditLog, Admin, CreateAdminByAdminRequest, ChangePasswordRequest, Achievement, AchievementCategory, BadgeRarity, CreateAchievementRequest, AwardAchievementRequest, CreateShopItemRequest, AnalyticsSnapshot, LedgerTransaction, NinjaLoginLog } from '../types';
 import { FiEdit2, FiTrash2, FiPause, FiPlay, FiUsers, FiShoppingBag, FiAward, FiSettings, FiSearch, FiPlus, FiDollarSign, FiShoppingCart, FiTarget, FiTrendingUp, FiClock, FiLock } from 'react-icons/fi';
 import { useToastContext } from '../context/ToastContext';
 import { useAuth } from '../context/AuthContext';
@@ -115,7 +115,8 @@ export default function AdminDashboard({ onLogout }: Props) {
 
   const [editingItem, setEditingItem] = useState<ShopItem | null>(null);
   const [isCreatingItem, setIsCreatingItem] = useState(false);
-  const [itemFormData, setItemFormData] = useState({
+  // stockQuantity is only sent once the field is touched, so editing other fields never resets stock
+  const [itemFormData, setItemFormData] = useState<CreateShopItemRequest>({
     name: '',
     description: '',
     price: 0,
@@ -1433,6 +1434,16 @@ export default function AdminDashboard({ onLogout }: Props) {
                       placeholder="e.g., snacks, fun, break-time"
                     />
                   </div>
+                  <div className="form-field">
+                    <label>Stock</label>
+                    <input
+                      type="number"
+                      min={0}
+                      value={'stockQuantity' in itemFormData ? itemFormData.stockQuantity ?? '' : editingItem?.stockQuantity ?? ''}
+                      onChange={(e) => setItemFormData({ ...itemFormData, stockQuantity: e.target.value === '' ? null : Number(e.target.value) })}
+                      placeholder="Leave empty for unlimited"
+                    />
+                  </div>
                 </div>
                   <div className="form-actions">
                     <button type="submit" className="btn btn-primary">Save</button>
@@ -1,5 +1,5 @@
 import axios, { type AxiosError } from 'axios';
-import type { Ninja, ShopItem, Purchase, CreateNinjaRequest, UpdateProgressRequest, PurchaseRequest, Admin, AdminLoginRequest, UpdateNinjaRequest, LeaderboardResponse, CreateShopItemRequest, ProgressHistory, ProgressHistoryCorrectionRequest, AdminAuditLog, CreateAdminByAdminRequest, ChangePasswordRequest, Achievement, AchievementProgress, CreateAchievementRequest, AwardAchievementRequest, AchievementCategory, PaginatedNinjaResponse, AnalyticsSnapshot, LedgerTransaction, NinjaLoginLog } from '../types';
+import type { Ninja, ShopItem, Purchase, CreateNinjaRequest, UpdateProgressRequest, PurchaseRequest, CheckoutRequest, CheckoutResponse, RedemptionQueuePage, PurchaseHistoryPage, NinjaShop, Admin, AdminLoginRequest, UpdateNinjaRequest, LeaderboardResponse, CreateShopItemRequest, ProgressHistory, ProgressHistoryCorrectionRequest, AdminAuditLog, CreateAdminByAdminRequest, ChangePasswordRequest, Achievement, AchievementProgress, CreateAchievementRequest, AwardAchievementRequest, AchievementCategory, PaginatedNinjaResponse, AnalyticsSnapshot, LedgerTransaction, NinjaLoginLog } from '../types';
 
 const API_BASE_URL = import.meta.env.VITE_API_BASE_URL || 
   (import.meta.env.DEV && window.location.hostname === 'localhost' 
@@ -275,6 +275,11 @@ export const shopApi = {
     return response.data;
   },
 
+  getItemsForNinja: async (ninjaId: number): Promise<NinjaShop> => {
+    const response = await api.get<NinjaShop>(`/shop/items/for-ninja/${ninjaId}`);
+    return response.data;
+  },
+
   purchaseItem: async (data: PurchaseRequest): Promise<Purchase> => {
     try {
       const response = await api.post<Purchase>('/shop/purchase', data);
@@ -287,11 +292,42 @@ export const shopApi = {
     }
   },
 
+  checkout: async (data: CheckoutRequest): Promise<CheckoutResponse> => {
+    try {
+      const response = await api.post<CheckoutResponse>('/shop/checkout', data);
+      return response.data;
+    } catch (error) {
+      if (isAxiosError(error) && error.response?.status === 403) {
+        throwWithResponseMessage(error, 'Account is locked');
+      }
+      throw error;
+    }
+  },
+
   getNinjaPurchases: async (ninjaId: number): Promise<Purchase[]> => {
     const response = await api.get<Purchase[]>(`/shop/purchases/ninja/${ninjaId}`);
     return response.data;
   },
 
+  getPurchaseHistory: async (ninjaId: number, beforeDate?: string, beforeId?: number, limit = 50): Promise<PurchaseHistoryPage> => {
+    const response = await api.get<PurchaseHistoryPage>(`/shop/purchases/ninja/${ninjaId}/history`, {
+      params: { beforeDate, beforeId, limit },
+    });
+    return response.data;
+  },
+
+  getAllPurchaseHistory: async (
+    filters: { itemId?: number; status?: string; from?: string; to?: string },
+    beforeDate?: string,
+    beforeId?: number,
+    limit = 50
+  ): Promise<PurchaseHistoryPage> => {
+    const response = await api.get<PurchaseHistoryPage>('/admin/purchases', {
+      params: { ...filters, beforeDate, beforeId, limit },
+    });
+    return response.data;
+  },
+
   getUnredeemedPurchases: async (ninjaId: number): Promise<Purchase[]> => {
     const response = await api.get<Purchase[]>(`/shop/purchases/ninja/${ninjaId}/unredeemed`);
     return response.data;
@@ -306,11 +342,28 @@ export const shopApi = {
     await api.delete(`/shop/purchases/${purchaseId}/refund`);
   },
 
+  getRedemptionQueue: async (afterDate?: string, afterId?: number, limit = 50): Promise<RedemptionQueuePage> => {
+    const response = await api.get<RedemptionQueuePage>('/admin/redemptions', {
+      params: { afterDate, afterId, limit },
+    });
+    return response.data;
+  },
+
+  redeemPurchases: async (purchaseIds: number[]): Promise<{ requested: number; redeemed: number }> => {
+    const response = await api.post<{ requested: number; redeemed: number }>('/admin/redemptions/redeem', { purchaseIds });
+    return response.data;
+  },
+
   createItem: async (data: CreateShopItemRequest): Promise<ShopItem> => {
     const response = await api.post<ShopItem>('/shop/items', data);
     return response.data;
   },
 
+  discontinueItem: async (id: number): Promise<{ itemId: number; itemName: string; purchasesRefunded: number; buxRefunded: number; ninjasAffected: number; durationMs: number }> => {
+    const response = await api.post(`/admin/shop/items/${id}/discontinue`);
+    return response.data;
+  },
+
   updateItem: async (id: number, data: CreateShopItemRequest): Promise<ShopItem> => {
     const response = await api.put<ShopItem>(`/shop/items/${id}`, data);
     return response.data;
@@ -464,6 +517,11 @@ export const achievementApi = {
     return response.data;
   },
 
+  getUnseenCount: async (ninjaId: number): Promise<number> => {
+    const response = await api.get<{ count: number }>(`/achievements/ninja/${ninjaId}/unseen/count`);
+    return response.data.count;
+  },
+
   markAchievementsSeen: async (ninjaId: number, progressIds: number[]): Promise<void> => {
     await api.post(`/achievements/ninja/${ninjaId}/mark-seen`, progressIds);
   },
@@ -32,6 +32,7 @@ export interface ShopItem {
   maxLifetime?: number | null;
   maxActiveAtOnce?: number | null;
   restrictedCategories?: string | null;
+  stockQuantity?: number | null; // null = unlimited
 }
 
 export interface Purchase {
@@ -69,6 +70,58 @@ export interface PurchaseRequest {
   itemId: number;
 }
 
+export interface CheckoutRequest {
+  ninjaId: number;
+  itemIds: number[];
+}
+
+export interface CheckoutResponse {
+  purchases: Purchase[];
+  totalPrice: number;
+  remainingBalance: number;
+}
+
+export interface NinjaShopItem {
+  item: ShopItem;
+  affordable: boolean;
+  buxShort: number;
+  remainingPurchases: number | null;
+  remainingToday: number | null;
+  blockedBy: string | null;
+  stockRemaining: number | null;
+  canBuy: boolean;
+}
+
+export interface NinjaShop {
+  ninjaId: number;
+  balance: number;
+  locked: boolean;
+  items: NinjaShopItem[];
+}
+
+export interface PurchaseHistoryEntry {
+  id: number;
+  ninjaId: number;
+  itemId: number;
+  itemName: string;
+  pricePaid: number;
+  status: 'PURCHASED' | 'REDEEMED' | 'REFUNDED' | 'CANCELED';
+  purchaseDate: string;
+  redeemedDate?: string;
+}
+
+export interface PurchaseHistoryPage {
+  purchases: PurchaseHistoryEntry[];
+  nextBeforeDate: string | null;
+  nextBeforeId: number | null;
+}
+
+export interface RedemptionQueuePage {
+  purchases: Purchase[];
+  nextAfterDate: string | null;
+  nextAfterId: number | null;
+}
+
 export interface Admin {
   id: number;
   username: string;
@@ -127,6 +180,8 @@ export interface CreateShopItemRequest {
   maxLifetime?: number | null;
   maxActiveAtOnce?: number | null;
   restrictedCategories?: string | null;
+  // leave out to keep the current stock, null makes the item unlimited
+  stockQuantity?: number | null;
 }
 
 export interface ProgressHistory {
@@ -211,6 +266,8 @@ export interface Achievement {
   hidden: boolean;
   createdAt: string;
   updatedAt?: string;
+  unlockCount?: number;
+  unlockRate?: number; // percent of all ninjas
 }
 
 export interface AchievementProgress {
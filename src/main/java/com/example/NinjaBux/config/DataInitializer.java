@@ -6,7 +6,6 @@ import com.example.NinjaBux.domain.enums.AchievementCategory;
 import com.example.NinjaBux.domain.enums.BadgeRarity;
 import com.example.NinjaBux.repository.AchievementRepository;
 import com.example.NinjaBux.repository.ShopItemRepository;
-import java.util.List;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -28,10 +27,7 @@ public class DataInitializer implements CommandLineRunner {
   private com.example.NinjaBux.repository.NinjaRepository ninjaRepository;
 
   @Autowired(required = false)
-  private com.example.NinjaBux.service.AchievementService achievementService;
-
-  @Autowired(required = false)
-  private com.example.NinjaBux.repository.LegacyLedgerTxnRepository legacyLedgerTxnRepository;
+  private com.example.NinjaBux.service.AchievementBackfillService achievementBackfillService;
 
   @Override
   public void run(String... args) throws Exception {
@@ -289,50 +285,17 @@ public class DataInitializer implements CommandLineRunner {
   }
 
   private void awardVeteranAchievementsToExistingNinjas() {
-    if (ninjaRepository == null
-        || achievementService == null
-        || legacyLedgerTxnRepository == null) {
+    if (ninjaRepository == null || achievementBackfillService == null) {
+      return;
+    }
+
+    if (ninjaRepository.count() == 0) {
       return;
     }
 
     try {
-      // find all the veteran achievements we just created
-      List<Achievement> veteranAchievements =
-          achievementRepository.findByCategory(
-              com.example.NinjaBux.domain.enums.AchievementCategory.VETERAN);
-
-      if (veteranAchievements.isEmpty()) {
-        return;
-      }
-
-      // get every ninja so we can check them all
-      List<com.example.NinjaBux.domain.Ninja> allNinjas = ninjaRepository.findAll();
-
-      for (com.example.NinjaBux.domain.Ninja ninja : allNinjas) {
-        // check each veteran achievement
-        for (Achievement veteranAchievement : veteranAchievements) {
-          try {
-            // skip if they already have it unlocked
-            boolean alreadyUnlocked =
-                achievementService.getNinjaAchievements(ninja.getId(), true).stream()
-                    .anyMatch(
-                        ap ->
-                            ap.getAchievement().getId().equals(veteranAchievement.getId())
-                                && ap.isUnlocked());
-
-            if (!alreadyUnlocked) {
-              // let the service figure out if they qualify
-              achievementService.checkAndUnlockAchievements(ninja.getId());
-            }
-          } catch (Exception e) {
-            logger.error(
-                "Error checking veteran achievement for ninja {}: {}",
-                ninja.getId(),
-                e.getMessage(),
-                e);
-          }
-        }
-      }
+      // fresh seed, so every achievement is new to everyone; let the backfill job sort it out
+      achievementBackfillService.startBackfill(null, "system");
     } catch (Exception e) {
       logger.error("Error awarding veteran achievements: {}", e.getMessage(), e);
     }
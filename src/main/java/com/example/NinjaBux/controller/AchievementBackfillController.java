@@ -0,0 +1,79 @@
+package com.example.NinjaBux.controller;
+
+import com.example.NinjaBux.domain.AchievementBackfillJob;
+import com.example.NinjaBux.dto.BackfillJobResponse;
+import com.example.NinjaBux.service.AchievementBackfillService;
+import com.example.NinjaBux.service.AdminAuditService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/admin/achievements/backfill")
+public class AchievementBackfillController {
+
+    @Autowired
+    private AchievementBackfillService backfillService;
+
+    @Autowired
+    private AdminAuditService auditService;
+
+    // achievementId omitted = re-check every active auto achievement
+    @PostMapping
+    public ResponseEntity<BackfillJobResponse> startBackfill(
+            @RequestParam(required = false) Long achievementId,
+            @RequestHeader(value = "X-Admin-Username", required = false) String adminUsername) {
+
+        if (adminUsername == null || adminUsername.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        try {
+            AchievementBackfillJob job = backfillService.startBackfill(achievementId, adminUsername);
+            auditService.log(adminUsername, "START_ACHIEVEMENT_BACKFILL",
+                    "Started achievement backfill job " + job.getId()
+                            + (achievementId != null ? " for achievement " + achievementId : " for all achievements"));
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(backfillService.getJob(job.getId()));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @PostMapping("/{jobId}/resume")
+    public ResponseEntity<BackfillJobResponse> resumeBackfill(
+            @PathVariable Long jobId,
+            @RequestHeader(value = "X-Admin-Username", required = false) String adminUsername) {
+
+        if (adminUsername == null || adminUsername.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+
+        try {
+            backfillService.resume(jobId);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(backfillService.getJob(jobId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<BackfillJobResponse> getBackfill(@PathVariable Long jobId) {
+        try {
+            return ResponseEntity.ok(backfillService.getJob(jobId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @GetMapping
+    public ResponseEntity<List<BackfillJobResponse>> getRecentBackfills() {
+        return ResponseEntity.ok(backfillService.getRecentJobs());
+    }
+}
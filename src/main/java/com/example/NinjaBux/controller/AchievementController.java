@@ -3,6 +3,7 @@ package com.example.NinjaBux.controller;
 import com.example.NinjaBux.domain.enums.AchievementCategory;
 import com.example.NinjaBux.dto.AchievementDTO;
 import com.example.NinjaBux.dto.AchievementProgressDTO;
+import com.example.NinjaBux.exception.InvalidCriteriaException;
 import com.example.NinjaBux.service.AchievementService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
@@ -31,6 +32,8 @@ public class AchievementController {
         try {
             AchievementDTO created = achievementService.createAchievement(achievementDTO, adminUsername);
             return ResponseEntity.status(HttpStatus.CREATED).body(created);
+        } catch (InvalidCriteriaException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         }
@@ -49,6 +52,8 @@ public class AchievementController {
         try {
             AchievementDTO updated = achievementService.updateAchievement(id, achievementDTO, adminUsername);
             return ResponseEntity.ok(updated);
+        } catch (InvalidCriteriaException e) {
+            throw e;
         } catch (IllegalArgumentException e) {
             return ResponseEntity.notFound().build();
         } catch (Exception e) {
@@ -160,6 +165,16 @@ public class AchievementController {
         }
     }
 
+    // badge count for the UI, new unlocks themselves are pushed on /topic/ninja/{id}
+    @GetMapping("/ninja/{ninjaId}/unseen/count")
+    public ResponseEntity<Map<String, Integer>> getUnseenCount(@PathVariable Long ninjaId) {
+        try {
+            return ResponseEntity.ok(Map.of("count", achievementService.getUnseenCount(ninjaId)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     @PostMapping("/ninja/{ninjaId}/mark-seen")
     public ResponseEntity<Void> markAchievementsSeen(
             @PathVariable Long ninjaId,
@@ -0,0 +1,33 @@
+package com.example.NinjaBux.controller;
+
+import com.example.NinjaBux.domain.enums.PurchaseStatus;
+import com.example.NinjaBux.dto.PurchaseHistoryPage;
+import com.example.NinjaBux.service.ShopService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/admin/purchases")
+public class AdminPurchaseController {
+
+    @Autowired
+    private ShopService shopService;
+
+    @GetMapping
+    public ResponseEntity<PurchaseHistoryPage> getPurchaseHistory(
+            @RequestParam(required = false) Long itemId,
+            @RequestParam(required = false) PurchaseStatus status,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeDate,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(required = false, defaultValue = "50") int limit) {
+        return ResponseEntity.ok(
+            shopService.getAllPurchaseHistory(itemId, status, from, to, beforeDate, beforeId, limit));
+    }
+}
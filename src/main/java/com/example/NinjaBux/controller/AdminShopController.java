@@ -0,0 +1,31 @@
+package com.example.NinjaBux.controller;
+
+import com.example.NinjaBux.dto.DiscontinueItemResponse;
+import com.example.NinjaBux.service.AdminAuditService;
+import com.example.NinjaBux.service.ShopService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/admin/shop")
+public class AdminShopController {
+
+    @Autowired
+    private ShopService shopService;
+
+    @Autowired
+    private AdminAuditService auditService;
+
+    // pulls the item and refunds everyone still holding an unredeemed one
+    @PostMapping("/items/{id}/discontinue")
+    public ResponseEntity<DiscontinueItemResponse> discontinueItem(
+            @PathVariable Long id,
+            @RequestHeader(value = "X-Admin-Username", required = false, defaultValue = "admin") String adminUsername) {
+        DiscontinueItemResponse response = shopService.discontinueAndRefund(id);
+        auditService.log(adminUsername, "DISCONTINUE_ITEM",
+            "Discontinued " + response.getItemName() + " and refunded " + response.getPurchasesRefunded()
+                + " purchase(s) for " + response.getBuxRefunded() + " Bux");
+        return ResponseEntity.ok(response);
+    }
+}
@@ -1,11 +1,26 @@
 package com.example.NinjaBux.controller;
 
+import com.example.NinjaBux.domain.enums.ActivityMetric;
+import com.example.NinjaBux.domain.enums.BeltType;
 import com.example.NinjaBux.dto.AnalyticsResponse;
+import com.example.NinjaBux.dto.BalanceDistributionResponse;
+import com.example.NinjaBux.dto.CohortRetentionResponse;
+import com.example.NinjaBux.dto.LedgerSourceBreakdownResponse;
+import com.example.NinjaBux.dto.LoginActivityResponse;
+import com.example.NinjaBux.dto.UniqueActivityResponse;
 import com.example.NinjaBux.service.AnalyticsService;
+import com.example.NinjaBux.service.CohortAnalyticsService;
+import com.example.NinjaBux.service.LedgerRollupService;
+import com.example.NinjaBux.service.LoginActivityService;
+import com.example.NinjaBux.service.UniqueActivityService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
+import java.util.List;
+
 @RestController
 @RequestMapping("/api/analytics")
 public class AnalyticsController {
@@ -13,11 +28,77 @@ public class AnalyticsController {
     @Autowired
     private AnalyticsService analyticsService;
 
+    @Autowired
+    private UniqueActivityService uniqueActivityService;
+
+    @Autowired
+    private LoginActivityService loginActivityService;
+
+    @Autowired
+    private CohortAnalyticsService cohortAnalyticsService;
+
+    @Autowired
+    private LedgerRollupService ledgerRollupService;
+
     @GetMapping
     public ResponseEntity<AnalyticsResponse> getAnalytics(
             @RequestHeader(value = "X-Admin-Username", required = false, defaultValue = "admin") String adminUsername) {
         AnalyticsResponse analytics = analyticsService.getAnalytics();
         return ResponseEntity.ok(analytics);
     }
-}
 
+    @GetMapping("/unique")
+    public ResponseEntity<UniqueActivityResponse> getUniqueActivity(
+            @RequestParam ActivityMetric metric,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end) {
+        if (start.isAfter(end)) {
+            return ResponseEntity.badRequest().build();
+        }
+        long unique = uniqueActivityService.countUnique(metric, start, end);
+        return ResponseEntity.ok(new UniqueActivityResponse(metric, start, end, unique));
+    }
+
+    @GetMapping("/balances")
+    public ResponseEntity<BalanceDistributionResponse> getBalanceDistribution(
+            @RequestParam(required = false) List<Integer> edges) {
+        return ResponseEntity.ok(analyticsService.getBalanceDistribution(edges));
+    }
+
+    @GetMapping("/logins")
+    public ResponseEntity<LoginActivityResponse> getLoginActivity(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end) {
+        LocalDate to = end != null ? end : LocalDate.now();
+        LocalDate from = start != null ? start : to.minusDays(29);
+        if (from.isAfter(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(loginActivityService.getLoginActivity(from, to));
+    }
+
+    @GetMapping("/logins/hourly")
+    public ResponseEntity<List<LoginActivityResponse.HourlyLogins>> getHourlyLogins(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        return ResponseEntity.ok(loginActivityService.getHourlyLogins(date != null ? date : LocalDate.now()));
+    }
+
+    @GetMapping("/cohorts")
+    public ResponseEntity<CohortRetentionResponse> getCohortRetention(
+            @RequestParam(defaultValue = "12") int weeks) {
+        return ResponseEntity.ok(cohortAnalyticsService.getCohortRetention(weeks));
+    }
+
+    @GetMapping("/ledger-sources")
+    public ResponseEntity<LedgerSourceBreakdownResponse> getLedgerSourceBreakdown(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate start,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate end,
+            @RequestParam(required = false) BeltType belt) {
+        LocalDate to = end != null ? end : LocalDate.now();
+        LocalDate from = start != null ? start : to.minusDays(29);
+        if (from.isAfter(to)) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(ledgerRollupService.getBreakdown(from, to, belt));
+    }
+}
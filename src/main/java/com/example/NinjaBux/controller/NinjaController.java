@@ -12,11 +12,13 @@ import com.example.NinjaBux.dto.UpdateNinjaRequest;
 import com.example.NinjaBux.dto.UpdateProgressRequest;
 import com.example.NinjaBux.exception.NinjaNotFoundException;
 import com.example.NinjaBux.service.AdminAuditService;
+import com.example.NinjaBux.service.IdempotencyService;
 import com.example.NinjaBux.service.LedgerService;
 import com.example.NinjaBux.service.NinjaAdminService;
 import com.example.NinjaBux.service.NinjaLeaderboardService;
 import com.example.NinjaBux.service.NinjaProgressService;
 import com.example.NinjaBux.service.NinjaQueryService;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -48,6 +50,8 @@ public class NinjaController {
 
   @Autowired private LedgerService ledgerService;
 
+  @Autowired private IdempotencyService idempotencyService;
+
   private NinjaResponse toResponse(Ninja ninja) {
     int buxBalance = ledgerService.getBuxBalance(ninja.getId());
     int legacyBalance = ledgerService.getLegacyBalance(ninja.getId());
@@ -254,19 +258,27 @@ public class NinjaController {
       @RequestParam int amount,
       @RequestParam(required = false) String notes,
       @RequestHeader(value = "X-Admin-Username", required = false, defaultValue = "admin")
-          String adminUsername) {
-    try {
-      Ninja updatedNinja = ninjaAdminService.awardBux(id, amount, adminUsername, notes);
-      auditService.log(
-          adminUsername,
-          "AWARD_BUX",
-          "Awarded " + amount + " Bux" + (notes != null ? ": " + notes : ""),
-          updatedNinja.getId(),
-          updatedNinja.getFirstName() + " " + updatedNinja.getLastName());
-      return ResponseEntity.ok(toResponse(updatedNinja));
-    } catch (RuntimeException e) {
-      return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-    }
+          String adminUsername,
+      @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+    return idempotencyService.execute(
+        idempotencyKey,
+        "award-bux:" + id,
+        Arrays.asList(amount, notes),
+        NinjaResponse.class,
+        () -> {
+          try {
+            Ninja updatedNinja = ninjaAdminService.awardBux(id, amount, adminUsername, notes);
+            auditService.log(
+                adminUsername,
+                "AWARD_BUX",
+                "Awarded " + amount + " Bux" + (notes != null ? ": " + notes : ""),
+                updatedNinja.getId(),
+                updatedNinja.getFirstName() + " " + updatedNinja.getLastName());
+            return ResponseEntity.ok(toResponse(updatedNinja));
+          } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+          }
+        });
   }
 
   @PostMapping("/{id}/deduct-bux")
@@ -275,19 +287,27 @@ public class NinjaController {
       @RequestParam int amount,
       @RequestParam(required = false) String notes,
       @RequestHeader(value = "X-Admin-Username", required = false, defaultValue = "admin")
-          String adminUsername) {
-    try {
-      Ninja updatedNinja = ninjaAdminService.deductBux(id, amount, adminUsername, notes);
-      auditService.log(
-          adminUsername,
-          "DEDUCT_BUX",
-          "Deducted " + amount + " Bux" + (notes != null ? ": " + notes : ""),
-          updatedNinja.getId(),
-          updatedNinja.getFirstName() + " " + updatedNinja.getLastName());
-      return ResponseEntity.ok(toResponse(updatedNinja));
-    } catch (RuntimeException e) {
-      return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
-    }
+          String adminUsername,
+      @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+    return idempotencyService.execute(
+        idempotencyKey,
+        "deduct-bux:" + id,
+        Arrays.asList(amount, notes),
+        NinjaResponse.class,
+        () -> {
+          try {
+            Ninja updatedNinja = ninjaAdminService.deductBux(id, amount, adminUsername, notes);
+            auditService.log(
+                adminUsername,
+                "DEDUCT_BUX",
+                "Deducted " + amount + " Bux" + (notes != null ? ": " + notes : ""),
+                updatedNinja.getId(),
+                updatedNinja.getFirstName() + " " + updatedNinja.getLastName());
+            return ResponseEntity.ok(toResponse(updatedNinja));
+          } catch (RuntimeException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+          }
+        });
   }
 
   @PostMapping("/{id}/lock")
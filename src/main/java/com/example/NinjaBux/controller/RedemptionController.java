@@ -0,0 +1,42 @@
+package com.example.NinjaBux.controller;
+
+import com.example.NinjaBux.dto.BulkRedeemRequest;
+import com.example.NinjaBux.dto.RedemptionQueueResponse;
+import com.example.NinjaBux.service.AdminAuditService;
+import com.example.NinjaBux.service.RedemptionQueueService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/redemptions")
+public class RedemptionController {
+
+    @Autowired
+    private RedemptionQueueService redemptionQueueService;
+
+    @Autowired
+    private AdminAuditService auditService;
+
+    @GetMapping
+    public ResponseEntity<RedemptionQueueResponse> getQueue(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime afterDate,
+            @RequestParam(required = false) Long afterId,
+            @RequestParam(required = false, defaultValue = "50") int limit) {
+        return ResponseEntity.ok(redemptionQueueService.getQueue(afterDate, afterId, limit));
+    }
+
+    @PostMapping("/redeem")
+    public ResponseEntity<Map<String, Integer>> redeemAll(
+            @Valid @RequestBody BulkRedeemRequest request,
+            @RequestHeader(value = "X-Admin-Username", required = false, defaultValue = "admin") String adminUsername) {
+        int redeemed = redemptionQueueService.redeemAll(request.getPurchaseIds());
+        auditService.log(adminUsername, "BULK_REDEEM", "Redeemed " + redeemed + " purchase(s)");
+        return ResponseEntity.ok(Map.of("requested", request.getPurchaseIds().size(), "redeemed", redeemed));
+    }
+}
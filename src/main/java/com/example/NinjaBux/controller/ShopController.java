@@ -2,18 +2,29 @@ package com.example.NinjaBux.controller;
 
 import com.example.NinjaBux.domain.Purchase;
 import com.example.NinjaBux.domain.ShopItem;
+import com.example.NinjaBux.dto.CheckoutRequest;
+import com.example.NinjaBux.dto.CheckoutResponse;
 import com.example.NinjaBux.dto.CreateShopItemRequest;
+import com.example.NinjaBux.dto.NinjaShopResponse;
+import com.example.NinjaBux.dto.PurchaseHistoryPage;
 import com.example.NinjaBux.dto.PurchaseRequest;
 import com.example.NinjaBux.dto.PurchaseResponse;
 import com.example.NinjaBux.dto.ShopItemResponse;
+import com.example.NinjaBux.service.IdempotencyService;
+import com.example.NinjaBux.service.ShopCatalog;
 import com.example.NinjaBux.service.ShopService;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @RestController
@@ -23,31 +34,39 @@ public class ShopController {
     @Autowired
     private ShopService shopService;
 
+    @Autowired
+    private IdempotencyService idempotencyService;
+
+    // public and hit on every shop page load, so it's served from the catalog snapshot and
+    // answers 304 until the catalog actually changes
     @GetMapping("/items")
-    public ResponseEntity<List<ShopItemResponse>> getAvailableItems() {
-        List<ShopItem> items = shopService.getAvailableItems();
-        List<ShopItemResponse> responses = items.stream()
-            .map(ShopItemResponse::new)
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(responses);
+    public ResponseEntity<List<ShopItemResponse>> getAvailableItems(WebRequest request) {
+        ShopCatalog catalog = shopService.getCatalog();
+        return conditional(request, catalog, catalog.getAvailableItems());
     }
 
     @GetMapping("/items/all")
     public ResponseEntity<List<ShopItemResponse>> getAllItems() {
-        List<ShopItem> items = shopService.getAllItems();
-        List<ShopItemResponse> responses = items.stream()
-            .map(ShopItemResponse::new)
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(responses);
+        return ResponseEntity.ok(shopService.getAllItems());
     }
 
     @GetMapping("/items/category/{category}")
-    public ResponseEntity<List<ShopItemResponse>> getItemsByCategory(@PathVariable String category) {
-        List<ShopItem> items = shopService.getItemsByCategory(category);
-        List<ShopItemResponse> responses = items.stream()
-            .map(ShopItemResponse::new)
-            .collect(Collectors.toList());
-        return ResponseEntity.ok(responses);
+    public ResponseEntity<List<ShopItemResponse>> getItemsByCategory(
+            @PathVariable String category, WebRequest request) {
+        ShopCatalog catalog = shopService.getCatalog();
+        return conditional(request, catalog, catalog.getItemsByCategory(category));
+    }
+
+    // live levels for limited items, updates are pushed on /topic/shop/stock
+    @GetMapping("/stock")
+    public ResponseEntity<Map<Long, Integer>> getStockLevels() {
+        return ResponseEntity.ok(shopService.getStockLevels());
+    }
+
+    // catalog annotated for one ninja: can they afford it and how many more can they buy
+    @GetMapping("/items/for-ninja/{ninjaId}")
+    public ResponseEntity<NinjaShopResponse> getItemsForNinja(@PathVariable Long ninjaId) {
+        return ResponseEntity.ok(shopService.getItemsForNinja(ninjaId));
     }
 
     @GetMapping("/items/{id}")
@@ -57,9 +76,25 @@ public class ShopController {
     }
 
     @PostMapping("/purchase")
-    public ResponseEntity<PurchaseResponse> purchaseItem(@Valid @RequestBody PurchaseRequest request) {
-        Purchase purchase = shopService.purchaseItem(request.getNinjaId(), request.getItemId());
-        return ResponseEntity.status(HttpStatus.CREATED).body(new PurchaseResponse(purchase));
+    public ResponseEntity<PurchaseResponse> purchaseItem(
+            @Valid @RequestBody PurchaseRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(
+            idempotencyKey, "purchase:" + request.getNinjaId(), request, PurchaseResponse.class, () -> {
+                Purchase purchase = shopService.purchaseItem(request.getNinjaId(), request.getItemId());
+                return ResponseEntity.status(HttpStatus.CREATED).body(new PurchaseResponse(purchase));
+            });
+    }
+
+    @PostMapping("/checkout")
+    public ResponseEntity<CheckoutResponse> checkout(
+            @Valid @RequestBody CheckoutRequest request,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(
+            idempotencyKey, "checkout:" + request.getNinjaId(), request, CheckoutResponse.class, () -> {
+                CheckoutResponse response = shopService.checkout(request.getNinjaId(), request.getItemIds());
+                return ResponseEntity.status(HttpStatus.CREATED).body(response);
+            });
     }
 
     @GetMapping("/purchases/ninja/{ninjaId}")
@@ -71,6 +106,16 @@ public class ShopController {
         return ResponseEntity.ok(responses);
     }
 
+    // paged and lean; prefer this over the full list above for anything that can grow
+    @GetMapping("/purchases/ninja/{ninjaId}/history")
+    public ResponseEntity<PurchaseHistoryPage> getPurchaseHistory(
+            @PathVariable Long ninjaId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime beforeDate,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(required = false, defaultValue = "50") int limit) {
+        return ResponseEntity.ok(shopService.getPurchaseHistory(ninjaId, beforeDate, beforeId, limit));
+    }
+
     @GetMapping("/purchases/ninja/{ninjaId}/unredeemed")
     public ResponseEntity<List<PurchaseResponse>> getUnredeemedPurchases(@PathVariable Long ninjaId) {
         List<Purchase> purchases = shopService.getUnredeemedPurchases(ninjaId);
@@ -81,15 +126,25 @@ public class ShopController {
     }
 
     @PutMapping("/purchases/{id}/redeem")
-    public ResponseEntity<PurchaseResponse> redeemPurchase(@PathVariable Long id) {
-        Purchase purchase = shopService.redeemPurchase(id);
-        return ResponseEntity.ok(new PurchaseResponse(purchase));
+    public ResponseEntity<PurchaseResponse> redeemPurchase(
+            @PathVariable Long id,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(
+            idempotencyKey, "redeem:" + id, null, PurchaseResponse.class, () -> {
+                Purchase purchase = shopService.redeemPurchase(id);
+                return ResponseEntity.ok(new PurchaseResponse(purchase));
+            });
     }
 
     @DeleteMapping("/purchases/{id}/refund")
-    public ResponseEntity<Void> refundPurchase(@PathVariable Long id) {
-        shopService.refundPurchase(id);
-        return ResponseEntity.noContent().build();
+    public ResponseEntity<Void> refundPurchase(
+            @PathVariable Long id,
+            @RequestHeader(value = IdempotencyService.HEADER, required = false) String idempotencyKey) {
+        return idempotencyService.execute(
+            idempotencyKey, "refund:" + id, null, Void.class, () -> {
+                shopService.refundPurchase(id);
+                return ResponseEntity.noContent().<Void>build();
+            });
     }
 
     @PostMapping("/items")
@@ -103,7 +158,8 @@ public class ShopController {
             request.getMaxPerDay(),
             request.getMaxLifetime(),
             request.getMaxActiveAtOnce(),
-            request.getRestrictedCategories()
+            request.getRestrictedCategories(),
+            request.getStockQuantity()
         );
         return ResponseEntity.status(HttpStatus.CREATED).body(new ShopItemResponse(item));
     }
@@ -132,7 +188,9 @@ public class ShopController {
             request.getMaxPerDay(),
             request.getMaxLifetime(),
             request.getMaxActiveAtOnce(),
-            request.getRestrictedCategories()
+            request.getRestrictedCategories(),
+            request.hasStockQuantity(),
+            request.getStockQuantity()
         );
         return ResponseEntity.ok(new ShopItemResponse(item));
     }
@@ -142,4 +200,19 @@ public class ShopController {
         shopService.deleteItem(id);
         return ResponseEntity.noContent().build();
     }
+
+    private <T> ResponseEntity<T> conditional(WebRequest request, ShopCatalog catalog, T body) {
+        long lastModified = catalog.getLastModified().toEpochMilli();
+        if (request.checkNotModified(catalog.getETag(), lastModified)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(catalog.getETag())
+                .lastModified(lastModified)
+                .build();
+        }
+        return ResponseEntity.ok()
+            .cacheControl(CacheControl.noCache())
+            .eTag(catalog.getETag())
+            .lastModified(lastModified)
+            .body(body);
+    }
 }
@@ -0,0 +1,137 @@
+package com.example.NinjaBux.domain;
+
+import com.example.NinjaBux.domain.enums.BackfillStatus;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "achievement_backfill_job")
+public class AchievementBackfillJob {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  // null means every active auto achievement
+  private Long achievementId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private BackfillStatus status;
+
+  @Column(nullable = false)
+  private long totalNinjas;
+
+  @Column(nullable = false)
+  private long processedNinjas;
+
+  @Column(nullable = false)
+  private long unlockedCount;
+
+  // every ninja with id <= this has been evaluated and committed
+  private Long lastNinjaId;
+
+  @Column(length = 100)
+  private String requestedBy;
+
+  @Column(length = 500)
+  private String error;
+
+  @Column(nullable = false)
+  private LocalDateTime startedAt;
+
+  private LocalDateTime updatedAt;
+
+  private LocalDateTime finishedAt;
+
+  @PrePersist
+  @PreUpdate
+  protected void onSave() {
+    updatedAt = LocalDateTime.now();
+  }
+
+  public AchievementBackfillJob() {}
+
+  public AchievementBackfillJob(Long achievementId, long totalNinjas, String requestedBy) {
+    this.achievementId = achievementId;
+    this.totalNinjas = totalNinjas;
+    this.requestedBy = requestedBy;
+    this.status = BackfillStatus.RUNNING;
+    this.startedAt = LocalDateTime.now();
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public Long getAchievementId() {
+    return achievementId;
+  }
+
+  public BackfillStatus getStatus() {
+    return status;
+  }
+
+  public void setStatus(BackfillStatus status) {
+    this.status = status;
+  }
+
+  public long getTotalNinjas() {
+    return totalNinjas;
+  }
+
+  public void setTotalNinjas(long totalNinjas) {
+    this.totalNinjas = totalNinjas;
+  }
+
+  public long getProcessedNinjas() {
+    return processedNinjas;
+  }
+
+  public void setProcessedNinjas(long processedNinjas) {
+    this.processedNinjas = processedNinjas;
+  }
+
+  public long getUnlockedCount() {
+    return unlockedCount;
+  }
+
+  public void setUnlockedCount(long unlockedCount) {
+    this.unlockedCount = unlockedCount;
+  }
+
+  public Long getLastNinjaId() {
+    return lastNinjaId;
+  }
+
+  public void setLastNinjaId(Long lastNinjaId) {
+    this.lastNinjaId = lastNinjaId;
+  }
+
+  public String getRequestedBy() {
+    return requestedBy;
+  }
+
+  public String getError() {
+    return error;
+  }
+
+  public void setError(String error) {
+    this.error = error;
+  }
+
+  public LocalDateTime getStartedAt() {
+    return startedAt;
+  }
+
+  public LocalDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public LocalDateTime getFinishedAt() {
+    return finishedAt;
+  }
+
+  public void setFinishedAt(LocalDateTime finishedAt) {
+    this.finishedAt = finishedAt;
+  }
+}
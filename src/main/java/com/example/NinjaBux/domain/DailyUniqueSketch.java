@@ -0,0 +1,67 @@
+package com.example.NinjaBux.domain;
+
+import com.example.NinjaBux.domain.enums.ActivityMetric;
+import com.example.NinjaBux.util.HyperLogLog;
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(
+    name = "daily_unique_sketch",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"metric", "activity_date"}))
+public class DailyUniqueSketch {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 20)
+  private ActivityMetric metric;
+
+  @Column(name = "activity_date", nullable = false)
+  private LocalDate activityDate;
+
+  @Column(nullable = false, length = HyperLogLog.REGISTER_COUNT)
+  private byte[] registers;
+
+  private LocalDateTime updatedAt;
+
+  @PrePersist
+  @PreUpdate
+  protected void onSave() {
+    updatedAt = LocalDateTime.now();
+  }
+
+  public DailyUniqueSketch() {}
+
+  public DailyUniqueSketch(ActivityMetric metric, LocalDate activityDate, byte[] registers) {
+    this.metric = metric;
+    this.activityDate = activityDate;
+    this.registers = registers;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public ActivityMetric getMetric() {
+    return metric;
+  }
+
+  public LocalDate getActivityDate() {
+    return activityDate;
+  }
+
+  public byte[] getRegisters() {
+    return registers;
+  }
+
+  public void setRegisters(byte[] registers) {
+    this.registers = registers;
+  }
+
+  public LocalDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+}
@@ -0,0 +1,86 @@
+package com.example.NinjaBux.domain;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(
+    name = "idempotency_record",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"scope", "idempotency_key"}),
+    indexes = @Index(name = "idx_idempotency_expires", columnList = "expires_at"))
+public class IdempotencyRecord {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false, length = 100)
+  private String scope;
+
+  @Column(name = "idempotency_key", nullable = false, length = 100)
+  private String idempotencyKey;
+
+  // SHA-256 of the request payload, so a key reused for a different request is rejected
+  @Column(length = 64)
+  private String requestHash;
+
+  @Column(nullable = false)
+  private int responseStatus;
+
+  @Lob private String responseBody;
+
+  @Column(nullable = false)
+  private LocalDateTime createdAt;
+
+  @Column(name = "expires_at", nullable = false)
+  private LocalDateTime expiresAt;
+
+  public IdempotencyRecord() {}
+
+  public IdempotencyRecord(
+      String scope,
+      String idempotencyKey,
+      String requestHash,
+      int responseStatus,
+      String responseBody,
+      LocalDateTime expiresAt) {
+    this.scope = scope;
+    this.idempotencyKey = idempotencyKey;
+    this.requestHash = requestHash;
+    this.responseStatus = responseStatus;
+    this.responseBody = responseBody;
+    this.createdAt = LocalDateTime.now();
+    this.expiresAt = expiresAt;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public String getScope() {
+    return scope;
+  }
+
+  public String getIdempotencyKey() {
+    return idempotencyKey;
+  }
+
+  public String getRequestHash() {
+    return requestHash;
+  }
+
+  public int getResponseStatus() {
+    return responseStatus;
+  }
+
+  public String getResponseBody() {
+    return responseBody;
+  }
+
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public LocalDateTime getExpiresAt() {
+    return expiresAt;
+  }
+}
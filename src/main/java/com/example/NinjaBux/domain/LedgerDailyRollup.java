@@ -0,0 +1,114 @@
+package com.example.NinjaBux.domain;
+
+import com.example.NinjaBux.domain.enums.BeltType;
+import com.example.NinjaBux.domain.enums.LedgerSourceType;
+import com.example.NinjaBux.domain.enums.LedgerTxnType;
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(
+    name = "ledger_daily_rollup",
+    uniqueConstraints =
+        @UniqueConstraint(
+            columnNames = {"activity_date", "source_type", "txn_type", "belt_type"}))
+public class LedgerDailyRollup {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "activity_date", nullable = false)
+  private LocalDate activityDate;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "source_type", nullable = false)
+  private LedgerSourceType sourceType;
+
+  @Enumerated(EnumType.STRING)
+  @Column(name = "txn_type", nullable = false)
+  private LedgerTxnType txnType;
+
+  // ninja's belt when the transaction was written
+  @Enumerated(EnumType.STRING)
+  @Column(name = "belt_type")
+  private BeltType beltType;
+
+  @Column(nullable = false)
+  private long earned;
+
+  @Column(nullable = false)
+  private long spent;
+
+  @Column(name = "txn_count", nullable = false)
+  private long txnCount;
+
+  private LocalDateTime updatedAt;
+
+  @PrePersist
+  @PreUpdate
+  protected void onSave() {
+    updatedAt = LocalDateTime.now();
+  }
+
+  public LedgerDailyRollup() {}
+
+  public LedgerDailyRollup(
+      LocalDate activityDate,
+      LedgerSourceType sourceType,
+      LedgerTxnType txnType,
+      BeltType beltType) {
+    this.activityDate = activityDate;
+    this.sourceType = sourceType;
+    this.txnType = txnType;
+    this.beltType = beltType;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public LocalDate getActivityDate() {
+    return activityDate;
+  }
+
+  public LedgerSourceType getSourceType() {
+    return sourceType;
+  }
+
+  public LedgerTxnType getTxnType() {
+    return txnType;
+  }
+
+  public BeltType getBeltType() {
+    return beltType;
+  }
+
+  public long getEarned() {
+    return earned;
+  }
+
+  public void setEarned(long earned) {
+    this.earned = earned;
+  }
+
+  public long getSpent() {
+    return spent;
+  }
+
+  public void setSpent(long spent) {
+    this.spent = spent;
+  }
+
+  public long getTxnCount() {
+    return txnCount;
+  }
+
+  public void setTxnCount(long txnCount) {
+    this.txnCount = txnCount;
+  }
+
+  public LocalDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+}
@@ -0,0 +1,74 @@
+package com.example.NinjaBux.domain;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(
+    name = "login_hourly_rollup",
+    uniqueConstraints = @UniqueConstraint(columnNames = {"activity_date", "hour_of_day"}))
+public class LoginHourlyRollup {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(name = "activity_date", nullable = false)
+  private LocalDate activityDate;
+
+  @Column(name = "hour_of_day", nullable = false)
+  private int hourOfDay;
+
+  @Column(nullable = false)
+  private int successes;
+
+  @Column(nullable = false)
+  private int failures;
+
+  private LocalDateTime updatedAt;
+
+  @PrePersist
+  @PreUpdate
+  protected void onSave() {
+    updatedAt = LocalDateTime.now();
+  }
+
+  public LoginHourlyRollup() {}
+
+  public LoginHourlyRollup(LocalDate activityDate, int hourOfDay) {
+    this.activityDate = activityDate;
+    this.hourOfDay = hourOfDay;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public LocalDate getActivityDate() {
+    return activityDate;
+  }
+
+  public int getHourOfDay() {
+    return hourOfDay;
+  }
+
+  public int getSuccesses() {
+    return successes;
+  }
+
+  public void setSuccesses(int successes) {
+    this.successes = successes;
+  }
+
+  public int getFailures() {
+    return failures;
+  }
+
+  public void setFailures(int failures) {
+    this.failures = failures;
+  }
+
+  public LocalDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+}
@@ -43,6 +43,16 @@ public class Ninja {
 
   private boolean isLocked = false;
 
+  // AchievementProgress id of the badge picked for leaderboards, so lookups are a single join.
+  // only written by the JPQL updates in NinjaRepository; updatable = false keeps a full-row
+  // save of a ninja loaded earlier from writing an old value back over them
+  @Column(name = "leaderboard_badge_progress_id", updatable = false)
+  private Long leaderboardBadgeProgressId;
+
+  // unlocked but not yet seen achievements, same rules as the badge pointer above
+  @Column(updatable = false)
+  private int unseenAchievementCount = 0;
+
   public Ninja() {}
 
   public Ninja(
@@ -174,4 +184,20 @@ public class Ninja {
   public void setLocked(boolean locked) {
     this.isLocked = locked;
   }
+
+  public Long getLeaderboardBadgeProgressId() {
+    return leaderboardBadgeProgressId;
+  }
+
+  public void setLeaderboardBadgeProgressId(Long leaderboardBadgeProgressId) {
+    this.leaderboardBadgeProgressId = leaderboardBadgeProgressId;
+  }
+
+  public int getUnseenAchievementCount() {
+    return unseenAchievementCount;
+  }
+
+  public void setUnseenAchievementCount(int unseenAchievementCount) {
+    this.unseenAchievementCount = unseenAchievementCount;
+  }
 }
@@ -0,0 +1,115 @@
+package com.example.NinjaBux.domain;
+
+import com.example.NinjaBux.domain.enums.OutboxEventType;
+import com.example.NinjaBux.domain.enums.OutboxStatus;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(
+    name = "outbox_event",
+    indexes = @Index(name = "idx_outbox_status_next", columnList = "status, next_attempt_at"))
+public class OutboxEvent {
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private OutboxEventType eventType;
+
+  @Column(nullable = false)
+  private Long ninjaId;
+
+  @Column(length = 255)
+  private String payload;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false)
+  private OutboxStatus status;
+
+  @Column(nullable = false)
+  private int attempts;
+
+  @Column(name = "next_attempt_at", nullable = false)
+  private LocalDateTime nextAttemptAt;
+
+  @Column(length = 500)
+  private String lastError;
+
+  @Column(nullable = false)
+  private LocalDateTime createdAt;
+
+  private LocalDateTime processedAt;
+
+  public OutboxEvent() {}
+
+  public OutboxEvent(OutboxEventType eventType, Long ninjaId, String payload) {
+    this.eventType = eventType;
+    this.ninjaId = ninjaId;
+    this.payload = payload;
+    this.status = OutboxStatus.PENDING;
+    this.createdAt = LocalDateTime.now();
+    this.nextAttemptAt = this.createdAt;
+  }
+
+  public Long getId() {
+    return id;
+  }
+
+  public OutboxEventType getEventType() {
+    return eventType;
+  }
+
+  public Long getNinjaId() {
+    return ninjaId;
+  }
+
+  public String getPayload() {
+    return payload;
+  }
+
+  public OutboxStatus getStatus() {
+    return status;
+  }
+
+  public void setStatus(OutboxStatus status) {
+    this.status = status;
+  }
+
+  public int getAttempts() {
+    return attempts;
+  }
+
+  public void setAttempts(int attempts) {
+    this.attempts = attempts;
+  }
+
+  public LocalDateTime getNextAttemptAt() {
+    return nextAttemptAt;
+  }
+
+  public void setNextAttemptAt(LocalDateTime nextAttemptAt) {
+    this.nextAttemptAt = nextAttemptAt;
+  }
+
+  public String getLastError() {
+    return lastError;
+  }
+
+  public void setLastError(String lastError) {
+    this.lastError = lastError;
+  }
+
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public LocalDateTime getProcessedAt() {
+    return processedAt;
+  }
+
+  public void setProcessedAt(LocalDateTime processedAt) {
+    this.processedAt = processedAt;
+  }
+}
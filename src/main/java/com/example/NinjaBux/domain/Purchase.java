@@ -5,6 +5,12 @@ import jakarta.persistence.*;
 import java.time.LocalDateTime;
 
 @Entity
+@Table(
+    indexes = {
+      @Index(name = "idx_purchase_ninja_item", columnList = "ninja_id, shop_item_id"),
+      @Index(name = "idx_purchase_status_date", columnList = "status, purchase_date"),
+      @Index(name = "idx_purchase_ninja_date", columnList = "ninja_id, purchase_date")
+    })
 public class Purchase {
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -30,6 +30,12 @@ public class ShopItem {
     private Integer maxActiveAtOnce;
     private String restrictedCategories;
 
+    // null means unlimited. written on insert only; after that it's changed by the UPDATEs in
+    // ShopStockService so a full-row save can't put back a stale level
+    @Min(value = 0, message = "Stock can't be negative")
+    @Column(updatable = false)
+    private Integer stockQuantity;
+
     public ShopItem() {}
 
     public ShopItem(String name, String description, int price, String category) {
@@ -64,4 +70,6 @@ public class ShopItem {
     public void setMaxActiveAtOnce(Integer maxActiveAtOnce) { this.maxActiveAtOnce = maxActiveAtOnce; }
     public String getRestrictedCategories() { return restrictedCategories; }
     public void setRestrictedCategories(String restrictedCategories) { this.restrictedCategories = restrictedCategories; }
+    public Integer getStockQuantity() { return stockQuantity; }
+    public void setStockQuantity(Integer stockQuantity) { this.stockQuantity = stockQuantity; }
 }
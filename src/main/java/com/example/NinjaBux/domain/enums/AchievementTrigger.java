@@ -0,0 +1,9 @@
+package com.example.NinjaBux.domain.enums;
+
+// domain events that can move an achievement criteria
+public enum AchievementTrigger {
+    PROGRESS,       // lesson/level/belt update
+    PURCHASE,       // shop purchase
+    BUX_AWARDED,    // admin award or other non-progress earning
+    LEGACY_GRANTED  // legacy points granted
+}
@@ -0,0 +1,7 @@
+package com.example.NinjaBux.domain.enums;
+
+public enum ActivityMetric {
+    SHOPPER,     // Made a purchase
+    PROGRESSOR,  // Completed a lesson/level/belt
+    LOGIN        // Logged in successfully
+}
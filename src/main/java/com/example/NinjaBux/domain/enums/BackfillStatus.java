@@ -0,0 +1,8 @@
+package com.example.NinjaBux.domain.enums;
+
+public enum BackfillStatus {
+    RUNNING,      // Chunks are being processed
+    COMPLETED,    // Every ninja has been evaluated
+    FAILED,       // A chunk failed, can be resumed
+    INTERRUPTED   // App stopped mid-run, resumed on next startup
+}
@@ -0,0 +1,5 @@
+package com.example.NinjaBux.domain.enums;
+
+public enum OutboxEventType {
+    ACHIEVEMENT_CHECK   // Re-evaluate a ninja's achievements (payload = AchievementTrigger, empty = all)
+}
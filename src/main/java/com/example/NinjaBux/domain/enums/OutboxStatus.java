@@ -0,0 +1,7 @@
+package com.example.NinjaBux.domain.enums;
+
+public enum OutboxStatus {
+    PENDING,   // Waiting for the dispatcher
+    DONE,      // Handled
+    FAILED     // Gave up after max attempts
+}
@@ -20,6 +20,9 @@ public class AchievementDTO {
     private boolean hidden;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    // filled in from AchievementStatsService, not stored on the entity
+    private long unlockCount;
+    private double unlockRate;
 
     public AchievementDTO() {
     }
@@ -131,4 +134,18 @@ public class AchievementDTO {
     public void setUpdatedAt(LocalDateTime updatedAt) {
         this.updatedAt = updatedAt;
     }
+
+    public long getUnlockCount() {
+        return unlockCount;
+    }
+    public void setUnlockCount(long unlockCount) {
+        this.unlockCount = unlockCount;
+    }
+
+    public double getUnlockRate() {
+        return unlockRate;
+    }
+    public void setUnlockRate(double unlockRate) {
+        this.unlockRate = unlockRate;
+    }
 }
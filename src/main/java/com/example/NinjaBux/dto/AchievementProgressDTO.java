@@ -1,5 +1,6 @@
 package com.example.NinjaBux.dto;
 
+import com.example.NinjaBux.domain.Achievement;
 import com.example.NinjaBux.domain.AchievementProgress;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -23,6 +24,12 @@ public class AchievementProgressDTO {
     public AchievementProgressDTO() {
     }
 
+    // for achievements the ninja has no stored progress row for yet
+    public AchievementProgressDTO(Long ninjaId, Achievement achievement) {
+        this.ninjaId = ninjaId;
+        this.achievement = new AchievementDTO(achievement);
+    }
+
     public AchievementProgressDTO(AchievementProgress progress) {
         this.id = progress.getId();
         this.ninjaId = progress.getNinja().getId();
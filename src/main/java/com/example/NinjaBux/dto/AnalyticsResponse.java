@@ -199,6 +199,7 @@ public class AnalyticsResponse {
         private ShopMetrics shopMetrics;
         private LeaderboardMetrics leaderboardMetrics;
         private AchievementMetrics achievementMetrics;
+        private ActiveNinjaMetrics activeNinjaMetrics;
 
         public ShopMetrics getShopMetrics() {
             return shopMetrics;
@@ -220,6 +221,65 @@ public class AnalyticsResponse {
         public void setAchievementMetrics(AchievementMetrics achievementMetrics) {
             this.achievementMetrics = achievementMetrics;
         }
+
+        public ActiveNinjaMetrics getActiveNinjaMetrics() {
+            return activeNinjaMetrics;
+        }
+        public void setActiveNinjaMetrics(ActiveNinjaMetrics activeNinjaMetrics) {
+            this.activeNinjaMetrics = activeNinjaMetrics;
+        }
+    }
+
+    // approximate distinct ninja counts (HyperLogLog, ~2% error)
+    public static class ActiveNinjaMetrics {
+        private long loginsToday;
+        private long loginsThisWeek;
+        private long progressorsToday;
+        private long progressorsThisWeek;
+        private long shoppersToday;
+        private long shoppersThisWeek;
+
+        public long getLoginsToday() {
+            return loginsToday;
+        }
+        public void setLoginsToday(long loginsToday) {
+            this.loginsToday = loginsToday;
+        }
+
+        public long getLoginsThisWeek() {
+            return loginsThisWeek;
+        }
+        public void setLoginsThisWeek(long loginsThisWeek) {
+            this.loginsThisWeek = loginsThisWeek;
+        }
+
+        public long getProgressorsToday() {
+            return progressorsToday;
+        }
+        public void setProgressorsToday(long progressorsToday) {
+            this.progressorsToday = progressorsToday;
+        }
+
+        public long getProgressorsThisWeek() {
+            return progressorsThisWeek;
+        }
+        public void setProgressorsThisWeek(long progressorsThisWeek) {
+            this.progressorsThisWeek = progressorsThisWeek;
+        }
+
+        public long getShoppersToday() {
+            return shoppersToday;
+        }
+        public void setShoppersToday(long shoppersToday) {
+            this.shoppersToday = shoppersToday;
+        }
+
+        public long getShoppersThisWeek() {
+            return shoppersThisWeek;
+        }
+        public void setShoppersThisWeek(long shoppersThisWeek) {
+            this.shoppersThisWeek = shoppersThisWeek;
+        }
     }
 
     public static class ShopMetrics {
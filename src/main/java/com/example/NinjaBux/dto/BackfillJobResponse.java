@@ -0,0 +1,50 @@
+package com.example.NinjaBux.dto;
+
+import com.example.NinjaBux.domain.AchievementBackfillJob;
+import com.example.NinjaBux.domain.enums.BackfillStatus;
+import java.time.LocalDateTime;
+
+public class BackfillJobResponse {
+    private Long id;
+    private Long achievementId;
+    private BackfillStatus status;
+    private long totalNinjas;
+    private long processedNinjas;
+    private long unlockedCount;
+    private double percentComplete;
+    private Long etaSeconds; // null until there's enough progress to estimate
+    private String requestedBy;
+    private String error;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    public BackfillJobResponse(AchievementBackfillJob job, Long etaSeconds) {
+        this.id = job.getId();
+        this.achievementId = job.getAchievementId();
+        this.status = job.getStatus();
+        this.totalNinjas = job.getTotalNinjas();
+        this.processedNinjas = job.getProcessedNinjas();
+        this.unlockedCount = job.getUnlockedCount();
+        this.percentComplete = job.getTotalNinjas() > 0
+                ? Math.min(100.0, job.getProcessedNinjas() * 100.0 / job.getTotalNinjas())
+                : 100.0;
+        this.etaSeconds = etaSeconds;
+        this.requestedBy = job.getRequestedBy();
+        this.error = job.getError();
+        this.startedAt = job.getStartedAt();
+        this.finishedAt = job.getFinishedAt();
+    }
+
+    public Long getId() { return id; }
+    public Long getAchievementId() { return achievementId; }
+    public BackfillStatus getStatus() { return status; }
+    public long getTotalNinjas() { return totalNinjas; }
+    public long getProcessedNinjas() { return processedNinjas; }
+    public long getUnlockedCount() { return unlockedCount; }
+    public double getPercentComplete() { return percentComplete; }
+    public Long getEtaSeconds() { return etaSeconds; }
+    public String getRequestedBy() { return requestedBy; }
+    public String getError() { return error; }
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+}
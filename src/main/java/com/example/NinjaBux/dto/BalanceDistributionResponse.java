@@ -0,0 +1,140 @@
+package com.example.NinjaBux.dto;
+
+import java.util.List;
+import java.util.Map;
+
+public class BalanceDistributionResponse {
+    private List<Integer> edges;
+    private BalanceStats overall;
+    private Map<String, BalanceStats> byBelt;
+    private Map<String, BalanceStats> byPath;
+
+    public List<Integer> getEdges() {
+        return edges;
+    }
+    public void setEdges(List<Integer> edges) {
+        this.edges = edges;
+    }
+
+    public BalanceStats getOverall() {
+        return overall;
+    }
+    public void setOverall(BalanceStats overall) {
+        this.overall = overall;
+    }
+
+    public Map<String, BalanceStats> getByBelt() {
+        return byBelt;
+    }
+    public void setByBelt(Map<String, BalanceStats> byBelt) {
+        this.byBelt = byBelt;
+    }
+
+    public Map<String, BalanceStats> getByPath() {
+        return byPath;
+    }
+    public void setByPath(Map<String, BalanceStats> byPath) {
+        this.byPath = byPath;
+    }
+
+    public static class BalanceStats {
+        private int count;
+        private int min;
+        private int max;
+        private double average;
+        private int p50;
+        private int p90;
+        private int p99;
+        private List<BalanceBucket> buckets;
+
+        public int getCount() {
+            return count;
+        }
+        public void setCount(int count) {
+            this.count = count;
+        }
+
+        public int getMin() {
+            return min;
+        }
+        public void setMin(int min) {
+            this.min = min;
+        }
+
+        public int getMax() {
+            return max;
+        }
+        public void setMax(int max) {
+            this.max = max;
+        }
+
+        public double getAverage() {
+            return average;
+        }
+        public void setAverage(double average) {
+            this.average = average;
+        }
+
+        public int getP50() {
+            return p50;
+        }
+        public void setP50(int p50) {
+            this.p50 = p50;
+        }
+
+        public int getP90() {
+            return p90;
+        }
+        public void setP90(int p90) {
+            this.p90 = p90;
+        }
+
+        public int getP99() {
+            return p99;
+        }
+        public void setP99(int p99) {
+            this.p99 = p99;
+        }
+
+        public List<BalanceBucket> getBuckets() {
+            return buckets;
+        }
+        public void setBuckets(List<BalanceBucket> buckets) {
+            this.buckets = buckets;
+        }
+    }
+
+    // covers balances in (minExclusive, maxInclusive], a null bound means open-ended
+    public static class BalanceBucket {
+        private Integer minExclusive;
+        private Integer maxInclusive;
+        private int count;
+
+        public BalanceBucket(Integer minExclusive, Integer maxInclusive, int count) {
+            this.minExclusive = minExclusive;
+            this.maxInclusive = maxInclusive;
+            this.count = count;
+        }
+
+        public Integer getMinExclusive() {
+            return minExclusive;
+        }
+        public void setMinExclusive(Integer minExclusive) {
+            this.minExclusive = minExclusive;
+        }
+
+        public Integer getMaxInclusive() {
+            return maxInclusive;
+        }
+        public void setMaxInclusive(Integer maxInclusive) {
+            this.maxInclusive = maxInclusive;
+        }
+
+        public int getCount() {
+            return count;
+        }
+        public void setCount(int count) {
+            this.count = count;
+        }
+    }
+}
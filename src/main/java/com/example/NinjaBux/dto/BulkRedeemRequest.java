@@ -0,0 +1,17 @@
+package com.example.NinjaBux.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public class BulkRedeemRequest {
+    @NotEmpty(message = "No purchases selected")
+    @Size(max = 500, message = "At most 500 purchases can be redeemed at once")
+    private List<@NotNull Long> purchaseIds;
+
+    public BulkRedeemRequest() {}
+
+    public List<Long> getPurchaseIds() { return purchaseIds; }
+    public void setPurchaseIds(List<Long> purchaseIds) { this.purchaseIds = purchaseIds; }
+}
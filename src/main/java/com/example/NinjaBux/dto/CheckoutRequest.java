@@ -0,0 +1,24 @@
+package com.example.NinjaBux.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+public class CheckoutRequest {
+    @NotNull(message = "Ninja ID is required")
+    private Long ninjaId;
+
+    // repeat an id to buy more than one of it
+    @NotEmpty(message = "Cart is empty")
+    @Size(max = 20, message = "Cart can hold at most 20 items")
+    private List<@NotNull Long> itemIds;
+
+    public CheckoutRequest() {}
+
+    public Long getNinjaId() { return ninjaId; }
+    public void setNinjaId(Long ninjaId) { this.ninjaId = ninjaId; }
+
+    public List<Long> getItemIds() { return itemIds; }
+    public void setItemIds(List<Long> itemIds) { this.itemIds = itemIds; }
+}
@@ -0,0 +1,26 @@
+package com.example.NinjaBux.dto;
+
+import java.util.List;
+
+public class CheckoutResponse {
+    private List<PurchaseResponse> purchases;
+    private int totalPrice;
+    private int remainingBalance;
+
+    public CheckoutResponse() {}
+
+    public CheckoutResponse(List<PurchaseResponse> purchases, int totalPrice, int remainingBalance) {
+        this.purchases = purchases;
+        this.totalPrice = totalPrice;
+        this.remainingBalance = remainingBalance;
+    }
+
+    public List<PurchaseResponse> getPurchases() { return purchases; }
+    public void setPurchases(List<PurchaseResponse> purchases) { this.purchases = purchases; }
+
+    public int getTotalPrice() { return totalPrice; }
+    public void setTotalPrice(int totalPrice) { this.totalPrice = totalPrice; }
+
+    public int getRemainingBalance() { return remainingBalance; }
+    public void setRemainingBalance(int remainingBalance) { this.remainingBalance = remainingBalance; }
+}
@@ -0,0 +1,42 @@
+package com.example.NinjaBux.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class CohortRetentionResponse {
+    private LocalDate generatedOn;
+    private int weeks;
+    private List<Cohort> cohorts;
+
+    public CohortRetentionResponse(LocalDate generatedOn, int weeks, List<Cohort> cohorts) {
+        this.generatedOn = generatedOn;
+        this.weeks = weeks;
+        this.cohorts = cohorts;
+    }
+
+    public LocalDate getGeneratedOn() { return generatedOn; }
+    public int getWeeks() { return weeks; }
+    public List<Cohort> getCohorts() { return cohorts; }
+
+    public static class Cohort {
+        private LocalDate weekStart;
+        private int size;
+        private int[] activeByWeek; // index = weeks since the cohort week, ninjas with a level up that week
+        private double[] retentionByWeek;
+
+        public Cohort(LocalDate weekStart, int size, int[] activeByWeek) {
+            this.weekStart = weekStart;
+            this.size = size;
+            this.activeByWeek = activeByWeek;
+            this.retentionByWeek = new double[activeByWeek.length];
+            for (int i = 0; i < activeByWeek.length; i++) {
+                retentionByWeek[i] = size > 0 ? (double) activeByWeek[i] / size : 0.0;
+            }
+        }
+
+        public LocalDate getWeekStart() { return weekStart; }
+        public int getSize() { return size; }
+        public int[] getActiveByWeek() { return activeByWeek; }
+        public double[] getRetentionByWeek() { return retentionByWeek; }
+    }
+}
@@ -20,6 +20,13 @@ public class CreateShopItemRequest {
     private Integer maxActiveAtOnce;
     private String restrictedCategories;
 
+    @Min(value = 0, message = "Stock can't be negative")
+    private Integer stockQuantity; // null = unlimited
+
+    // Jackson only calls the setter when the field is in the JSON, so an edit that leaves it out
+    // keeps the current stock
+    private boolean stockQuantityProvided;
+
     public CreateShopItemRequest() {}
 
     public CreateShopItemRequest(String name, String description, int price, String category) {
@@ -51,4 +58,12 @@ public class CreateShopItemRequest {
 
     public String getRestrictedCategories() { return restrictedCategories; }
     public void setRestrictedCategories(String restrictedCategories) { this.restrictedCategories = restrictedCategories; }
+
+    public Integer getStockQuantity() { return stockQuantity; }
+    public void setStockQuantity(Integer stockQuantity) {
+        this.stockQuantity = stockQuantity;
+        this.stockQuantityProvided = true;
+    }
+
+    public boolean hasStockQuantity() { return stockQuantityProvided; }
 }
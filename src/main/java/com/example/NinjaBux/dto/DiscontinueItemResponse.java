@@ -0,0 +1,27 @@
+package com.example.NinjaBux.dto;
+
+public class DiscontinueItemResponse {
+    private Long itemId;
+    private String itemName;
+    private int purchasesRefunded;
+    private int buxRefunded;
+    private int ninjasAffected;
+    private long durationMs;
+
+    public DiscontinueItemResponse(Long itemId, String itemName, int purchasesRefunded, int buxRefunded,
+                                   int ninjasAffected, long durationMs) {
+        this.itemId = itemId;
+        this.itemName = itemName;
+        this.purchasesRefunded = purchasesRefunded;
+        this.buxRefunded = buxRefunded;
+        this.ninjasAffected = ninjasAffected;
+        this.durationMs = durationMs;
+    }
+
+    public Long getItemId() { return itemId; }
+    public String getItemName() { return itemName; }
+    public int getPurchasesRefunded() { return purchasesRefunded; }
+    public int getBuxRefunded() { return buxRefunded; }
+    public int getNinjasAffected() { return ninjasAffected; }
+    public long getDurationMs() { return durationMs; }
+}
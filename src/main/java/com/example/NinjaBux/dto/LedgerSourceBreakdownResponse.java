@@ -0,0 +1,81 @@
+package com.example.NinjaBux.dto;
+
+import com.example.NinjaBux.domain.enums.BeltType;
+import com.example.NinjaBux.domain.enums.LedgerSourceType;
+import com.example.NinjaBux.domain.enums.LedgerTxnType;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+public class LedgerSourceBreakdownResponse {
+    private LocalDate start;
+    private LocalDate end;
+    private BeltType belt;
+    private long totalEarned;
+    private long totalSpent;
+    private Map<String, Totals> bySource;
+    private Map<String, Totals> byType;
+    private List<SourceTypeTotals> rows;
+
+    public LocalDate getStart() { return start; }
+    public void setStart(LocalDate start) { this.start = start; }
+
+    public LocalDate getEnd() { return end; }
+    public void setEnd(LocalDate end) { this.end = end; }
+
+    public BeltType getBelt() { return belt; }
+    public void setBelt(BeltType belt) { this.belt = belt; }
+
+    public long getTotalEarned() { return totalEarned; }
+    public void setTotalEarned(long totalEarned) { this.totalEarned = totalEarned; }
+
+    public long getTotalSpent() { return totalSpent; }
+    public void setTotalSpent(long totalSpent) { this.totalSpent = totalSpent; }
+
+    public Map<String, Totals> getBySource() { return bySource; }
+    public void setBySource(Map<String, Totals> bySource) { this.bySource = bySource; }
+
+    public Map<String, Totals> getByType() { return byType; }
+    public void setByType(Map<String, Totals> byType) { this.byType = byType; }
+
+    public List<SourceTypeTotals> getRows() { return rows; }
+    public void setRows(List<SourceTypeTotals> rows) { this.rows = rows; }
+
+    public static class Totals {
+        private long earned;
+        private long spent;
+        private long count;
+
+        public void add(long earned, long spent, long count) {
+            this.earned += earned;
+            this.spent += spent;
+            this.count += count;
+        }
+
+        public long getEarned() { return earned; }
+        public long getSpent() { return spent; }
+        public long getCount() { return count; }
+    }
+
+    public static class SourceTypeTotals {
+        private LedgerSourceType source;
+        private LedgerTxnType type;
+        private long earned;
+        private long spent;
+        private long count;
+
+        public SourceTypeTotals(LedgerSourceType source, LedgerTxnType type, long earned, long spent, long count) {
+            this.source = source;
+            this.type = type;
+            this.earned = earned;
+            this.spent = spent;
+            this.count = count;
+        }
+
+        public LedgerSourceType getSource() { return source; }
+        public LedgerTxnType getType() { return type; }
+        public long getEarned() { return earned; }
+        public long getSpent() { return spent; }
+        public long getCount() { return count; }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.NinjaBux.dto;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public class LoginActivityResponse {
+    private LocalDate start;
+    private LocalDate end;
+    private int totalSuccesses;
+    private int totalFailures;
+    private long distinctNinjas; // HyperLogLog estimate, not an exact count
+    private List<DailyLogins> days;
+    private int[][] heatmap; // [day of week, monday = 0][hour of day] successful logins
+
+    public LocalDate getStart() { return start; }
+    public void setStart(LocalDate start) { this.start = start; }
+
+    public LocalDate getEnd() { return end; }
+    public void setEnd(LocalDate end) { this.end = end; }
+
+    public int getTotalSuccesses() { return totalSuccesses; }
+    public void setTotalSuccesses(int totalSuccesses) { this.totalSuccesses = totalSuccesses; }
+
+    public int getTotalFailures() { return totalFailures; }
+    public void setTotalFailures(int totalFailures) { this.totalFailures = totalFailures; }
+
+    public long getDistinctNinjas() { return distinctNinjas; }
+    public void setDistinctNinjas(long distinctNinjas) { this.distinctNinjas = distinctNinjas; }
+
+    public List<DailyLogins> getDays() { return days; }
+    public void setDays(List<DailyLogins> days) { this.days = days; }
+
+    public int[][] getHeatmap() { return heatmap; }
+    public void setHeatmap(int[][] heatmap) { this.heatmap = heatmap; }
+
+    public static class DailyLogins {
+        private LocalDate date;
+        private int successes;
+        private int failures;
+        private long distinctNinjas;
+
+        public DailyLogins(LocalDate date, int successes, int failures, long distinctNinjas) {
+            this.date = date;
+            this.successes = successes;
+            this.failures = failures;
+            this.distinctNinjas = distinctNinjas;
+        }
+
+        public LocalDate getDate() { return date; }
+        public int getSuccesses() { return successes; }
+        public int getFailures() { return failures; }
+        public long getDistinctNinjas() { return distinctNinjas; }
+    }
+
+    public static class HourlyLogins {
+        private int hour;
+        private int successes;
+        private int failures;
+
+        public HourlyLogins(int hour, int successes, int failures) {
+            this.hour = hour;
+            this.successes = successes;
+            this.failures = failures;
+        }
+
+        public int getHour() { return hour; }
+        public int getSuccesses() { return successes; }
+        public int getFailures() { return failures; }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.NinjaBux.dto;
+
+// a catalog item as one ninja sees it. remainingPurchases is the tightest of the item's limits
+// (null when it has none) and blockedBy names the limit that stops them, if any
+public class NinjaShopItemResponse {
+    private ShopItemResponse item;
+    private boolean affordable;
+    private int buxShort;
+    private Integer remainingPurchases;
+    private Integer remainingToday;
+    private String blockedBy;
+    private Integer stockRemaining;
+    private boolean canBuy;
+
+    public NinjaShopItemResponse(ShopItemResponse item, boolean affordable, int buxShort,
+                                 Integer remainingPurchases, Integer remainingToday, String blockedBy,
+                                 Integer stockRemaining, boolean canBuy) {
+        this.item = item;
+        this.affordable = affordable;
+        this.buxShort = buxShort;
+        this.remainingPurchases = remainingPurchases;
+        this.remainingToday = remainingToday;
+        this.blockedBy = blockedBy;
+        this.stockRemaining = stockRemaining;
+        this.canBuy = canBuy;
+    }
+
+    public ShopItemResponse getItem() { return item; }
+    public boolean isAffordable() { return affordable; }
+    public int getBuxShort() { return buxShort; }
+    public Integer getRemainingPurchases() { return remainingPurchases; }
+    public Integer getRemainingToday() { return remainingToday; }
+    public String getBlockedBy() { return blockedBy; }
+    public Integer getStockRemaining() { return stockRemaining; }
+    public boolean isCanBuy() { return canBuy; }
+}
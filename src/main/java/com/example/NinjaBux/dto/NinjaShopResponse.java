@@ -0,0 +1,22 @@
+package com.example.NinjaBux.dto;
+
+import java.util.List;
+
+public class NinjaShopResponse {
+    private Long ninjaId;
+    private int balance;
+    private boolean locked;
+    private List<NinjaShopItemResponse> items;
+
+    public NinjaShopResponse(Long ninjaId, int balance, boolean locked, List<NinjaShopItemResponse> items) {
+        this.ninjaId = ninjaId;
+        this.balance = balance;
+        this.locked = locked;
+        this.items = items;
+    }
+
+    public Long getNinjaId() { return ninjaId; }
+    public int getBalance() { return balance; }
+    public boolean isLocked() { return locked; }
+    public List<NinjaShopItemResponse> getItems() { return items; }
+}
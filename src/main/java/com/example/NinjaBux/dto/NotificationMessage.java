@@ -0,0 +1,30 @@
+package com.example.NinjaBux.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// shape the frontend's useWebSocket hook expects on /topic/ninja/{id}
+public class NotificationMessage {
+    private String type;
+    private String title;
+    private String message;
+    private Long ninjaId;
+    private LocalDateTime timestamp;
+    private Map<String, Object> data;
+
+    public NotificationMessage(String type, String title, String message, Long ninjaId, Map<String, Object> data) {
+        this.type = type;
+        this.title = title;
+        this.message = message;
+        this.ninjaId = ninjaId;
+        this.timestamp = LocalDateTime.now();
+        this.data = data;
+    }
+
+    public String getType() { return type; }
+    public String getTitle() { return title; }
+    public String getMessage() { return message; }
+    public Long getNinjaId() { return ninjaId; }
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public Map<String, Object> getData() { return data; }
+}
@@ -0,0 +1,38 @@
+package com.example.NinjaBux.dto;
+
+import com.example.NinjaBux.domain.enums.PurchaseStatus;
+import java.time.LocalDateTime;
+
+// lean row for purchase history, built straight from the query so no Purchase entities
+// (and none of their ninja/item/ledger associations) get loaded
+public class PurchaseHistoryEntry {
+    private Long id;
+    private Long ninjaId;
+    private Long itemId;
+    private String itemName;
+    private int pricePaid;
+    private PurchaseStatus status;
+    private LocalDateTime purchaseDate;
+    private LocalDateTime redeemedDate;
+
+    public PurchaseHistoryEntry(Long id, Long ninjaId, Long itemId, String itemName, int pricePaid,
+                                PurchaseStatus status, LocalDateTime purchaseDate, LocalDateTime redeemedDate) {
+        this.id = id;
+        this.ninjaId = ninjaId;
+        this.itemId = itemId;
+        this.itemName = itemName;
+        this.pricePaid = pricePaid;
+        this.status = status;
+        this.purchaseDate = purchaseDate;
+        this.redeemedDate = redeemedDate;
+    }
+
+    public Long getId() { return id; }
+    public Long getNinjaId() { return ninjaId; }
+    public Long getItemId() { return itemId; }
+    public String getItemName() { return itemName; }
+    public int getPricePaid() { return pricePaid; }
+    public PurchaseStatus getStatus() { return status; }
+    public LocalDateTime getPurchaseDate() { return purchaseDate; }
+    public LocalDateTime getRedeemedDate() { return redeemedDate; }
+}
@@ -0,0 +1,21 @@
+package com.example.NinjaBux.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// newest first; pass nextBeforeDate/nextBeforeId back to get the next page (both null at the end)
+public class PurchaseHistoryPage {
+    private List<PurchaseHistoryEntry> purchases;
+    private LocalDateTime nextBeforeDate;
+    private Long nextBeforeId;
+
+    public PurchaseHistoryPage(List<PurchaseHistoryEntry> purchases, LocalDateTime nextBeforeDate, Long nextBeforeId) {
+        this.purchases = purchases;
+        this.nextBeforeDate = nextBeforeDate;
+        this.nextBeforeId = nextBeforeId;
+    }
+
+    public List<PurchaseHistoryEntry> getPurchases() { return purchases; }
+    public LocalDateTime getNextBeforeDate() { return nextBeforeDate; }
+    public Long getNextBeforeId() { return nextBeforeId; }
+}
@@ -16,6 +16,8 @@ public class PurchaseResponse {
     private PurchaseStatus status;
     private LocalDateTime redeemedDate;
 
+    public PurchaseResponse() {}
+
     public PurchaseResponse(Purchase purchase) {
         this.id = purchase.getId();
         this.ninjaId = purchase.getNinja().getId();
@@ -0,0 +1,22 @@
+package com.example.NinjaBux.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// one page of the redemption queue, oldest first; pass nextAfterDate/nextAfterId back to get
+// the next page (both null once the end is reached)
+public class RedemptionQueueResponse {
+    private List<PurchaseResponse> purchases;
+    private LocalDateTime nextAfterDate;
+    private Long nextAfterId;
+
+    public RedemptionQueueResponse(List<PurchaseResponse> purchases, LocalDateTime nextAfterDate, Long nextAfterId) {
+        this.purchases = purchases;
+        this.nextAfterDate = nextAfterDate;
+        this.nextAfterId = nextAfterId;
+    }
+
+    public List<PurchaseResponse> getPurchases() { return purchases; }
+    public LocalDateTime getNextAfterDate() { return nextAfterDate; }
+    public Long getNextAfterId() { return nextAfterId; }
+}
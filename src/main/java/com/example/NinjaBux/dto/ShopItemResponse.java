@@ -14,6 +14,7 @@ public class ShopItemResponse {
     private Integer maxLifetime;
     private Integer maxActiveAtOnce;
     private String restrictedCategories;
+    private Integer stockQuantity; // as of the catalog snapshot, live levels come from /api/shop/stock
 
     public ShopItemResponse(ShopItem item) {
         this.id = item.getId();
@@ -27,6 +28,7 @@ public class ShopItemResponse {
         this.maxLifetime = item.getMaxLifetime();
         this.maxActiveAtOnce = item.getMaxActiveAtOnce();
         this.restrictedCategories = item.getRestrictedCategories();
+        this.stockQuantity = item.getStockQuantity();
     }
 
     public Long getId() { return id; }
@@ -61,4 +63,7 @@ public class ShopItemResponse {
 
     public String getRestrictedCategories() { return restrictedCategories; }
     public void setRestrictedCategories(String restrictedCategories) { this.restrictedCategories = restrictedCategories; }
+
+    public Integer getStockQuantity() { return stockQuantity; }
+    public void setStockQuantity(Integer stockQuantity) { this.stockQuantity = stockQuantity; }
 }
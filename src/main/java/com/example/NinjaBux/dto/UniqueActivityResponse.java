@@ -0,0 +1,30 @@
+package com.example.NinjaBux.dto;
+
+import com.example.NinjaBux.domain.enums.ActivityMetric;
+import java.time.LocalDate;
+
+public class UniqueActivityResponse {
+    private ActivityMetric metric;
+    private LocalDate start;
+    private LocalDate end;
+    private long uniqueNinjas;
+
+    public UniqueActivityResponse(ActivityMetric metric, LocalDate start, LocalDate end, long uniqueNinjas) {
+        this.metric = metric;
+        this.start = start;
+        this.end = end;
+        this.uniqueNinjas = uniqueNinjas;
+    }
+
+    public ActivityMetric getMetric() { return metric; }
+    public void setMetric(ActivityMetric metric) { this.metric = metric; }
+
+    public LocalDate getStart() { return start; }
+    public void setStart(LocalDate start) { this.start = start; }
+
+    public LocalDate getEnd() { return end; }
+    public void setEnd(LocalDate end) { this.end = end; }
+
+    public long getUniqueNinjas() { return uniqueNinjas; }
+    public void setUniqueNinjas(long uniqueNinjas) { this.uniqueNinjas = uniqueNinjas; }
+}
@@ -0,0 +1,7 @@
+package com.example.NinjaBux.exception;
+
+public class IdempotencyKeyInUseException extends RuntimeException {
+    public IdempotencyKeyInUseException(String key) {
+        super("A request with this Idempotency-Key is still being processed: " + key);
+    }
+}
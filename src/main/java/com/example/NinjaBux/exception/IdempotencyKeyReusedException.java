@@ -0,0 +1,7 @@
+package com.example.NinjaBux.exception;
+
+public class IdempotencyKeyReusedException extends RuntimeException {
+    public IdempotencyKeyReusedException(String key) {
+        super("Idempotency-Key was already used with a different request: " + key);
+    }
+}
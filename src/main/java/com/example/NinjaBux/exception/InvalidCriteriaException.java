@@ -0,0 +1,7 @@
+package com.example.NinjaBux.exception;
+
+public class InvalidCriteriaException extends RuntimeException {
+    public InvalidCriteriaException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.example.NinjaBux.exception;
+
+public class ShopItemSoldOutException extends RuntimeException {
+    public ShopItemSoldOutException(String itemName) {
+        super("Item is sold out: " + itemName);
+    }
+}
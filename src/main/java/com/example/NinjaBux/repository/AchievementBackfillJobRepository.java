@@ -0,0 +1,17 @@
+package com.example.NinjaBux.repository;
+
+import com.example.NinjaBux.domain.AchievementBackfillJob;
+import com.example.NinjaBux.domain.enums.BackfillStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AchievementBackfillJobRepository extends JpaRepository<AchievementBackfillJob, Long> {
+    List<AchievementBackfillJob> findByStatus(BackfillStatus status);
+
+    boolean existsByStatus(BackfillStatus status);
+
+    List<AchievementBackfillJob> findTop20ByOrderByStartedAtDesc();
+}
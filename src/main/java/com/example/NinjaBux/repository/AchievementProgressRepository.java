@@ -4,10 +4,13 @@ import com.example.NinjaBux.domain.Achievement;
 import com.example.NinjaBux.domain.AchievementProgress;
 import com.example.NinjaBux.domain.Ninja;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -20,10 +23,59 @@ public interface AchievementProgressRepository extends JpaRepository<Achievement
     List<AchievementProgress> findByAchievementAndUnlockedTrue(Achievement achievement);
     void deleteByNinja(Ninja ninja);
 
+    // ownership is part of the WHERE, so ids belonging to someone else are just skipped
+    @Modifying
+    @Query("UPDATE AchievementProgress ap SET ap.seen = true, ap.updatedAt = :now " +
+           "WHERE ap.ninja.id = :ninjaId AND ap.id IN :ids AND ap.unlocked = true AND ap.seen = false")
+    int markSeen(@Param("ninjaId") Long ninjaId, @Param("ids") List<Long> ids, @Param("now") LocalDateTime now);
+
+    // auto unlock of an existing row. A backfill worker and the outbox dispatcher can evaluate
+    // the same ninja at once; only the one that flips the row gets 1 back and pays the reward
+    @Modifying
+    @Query("UPDATE AchievementProgress ap SET ap.unlocked = true, ap.unlockedAt = :now, " +
+           "ap.progressValue = 100, ap.seen = false, ap.manuallyAwarded = false, ap.awardedBy = null, " +
+           "ap.updatedAt = :now WHERE ap.id = :id AND ap.unlocked = false")
+    int unlockIfLocked(@Param("id") Long id, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE AchievementProgress ap SET ap.progressValue = :progressValue, ap.updatedAt = :now " +
+           "WHERE ap.id = :id AND ap.unlocked = false")
+    int updateProgressIfLocked(
+        @Param("id") Long id, @Param("progressValue") int progressValue, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE AchievementProgress ap " +
+           "SET ap.isLeaderboardBadge = CASE WHEN ap.id = :progressId THEN true ELSE false END " +
+           "WHERE ap.ninja.id = :ninjaId AND (ap.isLeaderboardBadge = true OR ap.id = :progressId)")
+    int moveLeaderboardBadge(@Param("ninjaId") Long ninjaId, @Param("progressId") Long progressId);
+
+    @Query("SELECT ap FROM Ninja n, AchievementProgress ap JOIN FETCH ap.achievement " +
+           "WHERE n.id = :ninjaId AND ap.id = n.leaderboardBadgeProgressId AND ap.unlocked = true")
+    Optional<AchievementProgress> findLeaderboardBadge(@Param("ninjaId") Long ninjaId);
+
+    @Query("SELECT ap FROM Ninja n, AchievementProgress ap JOIN FETCH ap.achievement " +
+           "WHERE n.id IN :ninjaIds AND ap.id = n.leaderboardBadgeProgressId AND ap.unlocked = true")
+    List<AchievementProgress> findLeaderboardBadges(@Param("ninjaIds") Collection<Long> ninjaIds);
+
+    @Query("SELECT ap FROM AchievementProgress ap JOIN FETCH ap.achievement " +
+           "WHERE ap.ninja.id IN :ninjaIds AND ap.unlocked = true")
+    List<AchievementProgress> findUnlockedByNinjaIds(@Param("ninjaIds") Collection<Long> ninjaIds);
+
+    @Query("SELECT ap FROM AchievementProgress ap JOIN FETCH ap.achievement " +
+           "WHERE ap.ninja.id = :ninjaId AND ap.unlocked = true AND ap.seen = false ORDER BY ap.unlockedAt DESC")
+    List<AchievementProgress> findUnseenWithAchievement(@Param("ninjaId") Long ninjaId);
+
     // custom queries
+    @Query("SELECT ap FROM AchievementProgress ap JOIN FETCH ap.achievement WHERE ap.ninja = :ninja")
+    List<AchievementProgress> findByNinjaWithAchievement(@Param("ninja") Ninja ninja);
+
     @Query("SELECT COUNT(ap) FROM AchievementProgress ap WHERE ap.ninja = :ninja AND ap.unlocked = true")
     long countUnlockedByNinja(@Param("ninja") Ninja ninja);
 
+    @Query("SELECT ap.achievement.id, COUNT(ap) FROM AchievementProgress ap " +
+           "WHERE ap.unlocked = true GROUP BY ap.achievement.id")
+    List<Object[]> countUnlockedGroupedByAchievement();
+
     @Query("SELECT COUNT(ap) FROM AchievementProgress ap " +
            "WHERE ap.ninja = :ninja AND ap.unlocked = true AND ap.achievement.rarity = :rarity")
     long countUnlockedByNinjaAndRarity(@Param("ninja") Ninja ninja, @Param("rarity") String rarity);
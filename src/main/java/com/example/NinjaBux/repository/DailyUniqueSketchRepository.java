@@ -0,0 +1,14 @@
+package com.example.NinjaBux.repository;
+
+import com.example.NinjaBux.domain.DailyUniqueSketch;
+import com.example.NinjaBux.domain.enums.ActivityMetric;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface DailyUniqueSketchRepository extends JpaRepository<DailyUniqueSketch, Long> {
+    Optional<DailyUniqueSketch> findByMetricAndActivityDate(ActivityMetric metric, LocalDate activityDate);
+}
@@ -0,0 +1,29 @@
+package com.example.NinjaBux.repository;
+
+import com.example.NinjaBux.domain.LedgerDailyRollup;
+import com.example.NinjaBux.domain.enums.BeltType;
+import com.example.NinjaBux.domain.enums.LedgerSourceType;
+import com.example.NinjaBux.domain.enums.LedgerTxnType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LedgerDailyRollupRepository extends JpaRepository<LedgerDailyRollup, Long> {
+    Optional<LedgerDailyRollup> findByActivityDateAndSourceTypeAndTxnTypeAndBeltType(
+            LocalDate activityDate, LedgerSourceType sourceType, LedgerTxnType txnType, BeltType beltType);
+
+    @Query("SELECT r.sourceType, r.txnType, SUM(r.earned), SUM(r.spent), SUM(r.txnCount) " +
+           "FROM LedgerDailyRollup r " +
+           "WHERE r.activityDate BETWEEN :start AND :end " +
+           "AND (:belt IS NULL OR r.beltType = :belt) " +
+           "GROUP BY r.sourceType, r.txnType")
+    List<Object[]> sumBySourceAndType(@Param("start") LocalDate start,
+                                      @Param("end") LocalDate end,
+                                      @Param("belt") BeltType belt);
+}
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -22,6 +23,18 @@ public interface LedgerTxnRepository extends JpaRepository<LedgerTxn, Long> {
     @Query("SELECT COALESCE(SUM(CASE WHEN lt.amount < 0 THEN lt.amount ELSE 0 END), 0) FROM LedgerTxn lt WHERE lt.ninja = :ninja")
     int sumSpentAmountByNinja(@Param("ninja") Ninja ninja);
     
+    // earned and spent (positive) in one pass, for achievement evaluation
+    @Query("SELECT COALESCE(SUM(CASE WHEN lt.amount > 0 THEN lt.amount ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN lt.amount < 0 THEN ABS(lt.amount) ELSE 0 END), 0) " +
+           "FROM LedgerTxn lt WHERE lt.ninja.id = :ninjaId")
+    List<Object[]> sumEarnedAndSpentByNinjaId(@Param("ninjaId") Long ninjaId);
+
+    // same "earned" as above (every positive row), bucketed per ninja and server hour
+    @Query("SELECT lt.ninja.id, EXTRACT(DATE FROM lt.createdAt), EXTRACT(HOUR FROM lt.createdAt), SUM(lt.amount) " +
+           "FROM LedgerTxn lt WHERE lt.amount > 0 AND lt.createdAt >= :since " +
+           "GROUP BY lt.ninja.id, EXTRACT(DATE FROM lt.createdAt), EXTRACT(HOUR FROM lt.createdAt)")
+    List<Object[]> sumEarnedByHourSince(@Param("since") LocalDateTime since);
+
     List<LedgerTxn> findByNinjaAndSourceTypeOrderByCreatedAtDesc(Ninja ninja, com.example.NinjaBux.domain.enums.LedgerSourceType sourceType);
     
     List<LedgerTxn> findBySourceId(Long sourceId);
@@ -46,4 +59,19 @@ public interface LedgerTxnRepository extends JpaRepository<LedgerTxn, Long> {
 
     @Query("SELECT COALESCE(SUM(CASE WHEN lt.amount < 0 THEN ABS(lt.amount) ELSE 0 END), 0) FROM LedgerTxn lt")
     int sumTotalSpent();
+
+    // one row per ninja: belt, path, balance (ninjas with no ledger rows come back as 0)
+    @Query("SELECT n.currentBeltType, n.beltPath, COALESCE(SUM(lt.amount), 0) " +
+           "FROM Ninja n LEFT JOIN LedgerTxn lt ON lt.ninja = n " +
+           "GROUP BY n.id, n.currentBeltType, n.beltPath")
+    List<Object[]> findBalancesWithBelt();
+
+    // seeds ledger_daily_rollup; belt is the ninja's current belt since history doesn't record it
+    @Query("SELECT EXTRACT(DATE FROM lt.createdAt), lt.sourceType, lt.type, n.currentBeltType, " +
+           "COALESCE(SUM(CASE WHEN lt.amount > 0 THEN lt.amount ELSE 0 END), 0), " +
+           "COALESCE(SUM(CASE WHEN lt.amount < 0 THEN ABS(lt.amount) ELSE 0 END), 0), " +
+           "COUNT(lt) " +
+           "FROM LedgerTxn lt JOIN lt.ninja n WHERE lt.createdAt < :before " +
+           "GROUP BY EXTRACT(DATE FROM lt.createdAt), lt.sourceType, lt.type, n.currentBeltType")
+    List<Object[]> sumByDaySourceTypeAndBeltBefore(@Param("before") LocalDateTime before);
 }
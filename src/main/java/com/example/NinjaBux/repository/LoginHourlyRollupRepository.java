@@ -0,0 +1,16 @@
+package com.example.NinjaBux.repository;
+
+import com.example.NinjaBux.domain.LoginHourlyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface LoginHourlyRollupRepository extends JpaRepository<LoginHourlyRollup, Long> {
+    Optional<LoginHourlyRollup> findByActivityDateAndHourOfDay(LocalDate activityDate, int hourOfDay);
+
+    List<LoginHourlyRollup> findByActivityDateBetweenOrderByActivityDateAscHourOfDayAsc(LocalDate start, LocalDate end);
+}
@@ -3,6 +3,9 @@ package com.example.NinjaBux.repository;
 import com.example.NinjaBux.domain.Ninja;
 import com.example.NinjaBux.domain.NinjaLoginLog;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
@@ -18,4 +21,16 @@ public interface NinjaLoginLogRepository extends JpaRepository<NinjaLoginLog, Lo
     List<NinjaLoginLog> findByLoginTimeBetweenOrderByLoginTimeDesc(LocalDateTime start, LocalDateTime end);
 
     List<NinjaLoginLog> findByNinjaAndLoginTimeBetween(Ninja ninja, LocalDateTime start, LocalDateTime end);
+
+    @Query("SELECT l.ninja.id, l.loginTime FROM NinjaLoginLog l WHERE l.successful = true")
+    List<Object[]> findNinjaIdsAndSuccessfulLoginTimes();
+
+    @Query("SELECT EXTRACT(DATE FROM l.loginTime), EXTRACT(HOUR FROM l.loginTime), l.successful, COUNT(l) " +
+           "FROM NinjaLoginLog l WHERE l.loginTime < :before " +
+           "GROUP BY EXTRACT(DATE FROM l.loginTime), EXTRACT(HOUR FROM l.loginTime), l.successful")
+    List<Object[]> countByHourAndOutcomeBefore(@Param("before") LocalDateTime before);
+
+    @Modifying
+    @Query("DELETE FROM NinjaLoginLog l WHERE l.loginTime < :cutoff")
+    int deleteByLoginTimeBefore(@Param("cutoff") LocalDateTime cutoff);
 }
@@ -5,10 +5,12 @@ import com.example.NinjaBux.domain.enums.BeltType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,4 +36,46 @@ public interface NinjaRepository extends JpaRepository<Ninja, Long> {
 
     @Query("SELECT COUNT(n) FROM Ninja n WHERE n.isLocked = true")
     long countLockedNinjas();
+
+    // only points at the progress row if it's the ninja's own and unlocked
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Ninja n SET n.leaderboardBadgeProgressId = :progressId " +
+           "WHERE n.id = :ninjaId AND EXISTS (SELECT ap.id FROM AchievementProgress ap " +
+           "WHERE ap.id = :progressId AND ap.ninja.id = :ninjaId AND ap.unlocked = true)")
+    int setLeaderboardBadge(@Param("ninjaId") Long ninjaId, @Param("progressId") Long progressId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Ninja n SET n.leaderboardBadgeProgressId = NULL WHERE n.leaderboardBadgeProgressId = :progressId")
+    int clearLeaderboardBadge(@Param("progressId") Long progressId);
+
+    // one-off fill for ninjas that picked a badge before the pointer existed
+    @Modifying
+    @Query("UPDATE Ninja n SET n.leaderboardBadgeProgressId = " +
+           "(SELECT MAX(ap.id) FROM AchievementProgress ap " +
+           "WHERE ap.ninja.id = n.id AND ap.isLeaderboardBadge = true AND ap.unlocked = true) " +
+           "WHERE n.leaderboardBadgeProgressId IS NULL")
+    int fillMissingLeaderboardBadges();
+
+    @Query("SELECT n.unseenAchievementCount FROM Ninja n WHERE n.id = :ninjaId")
+    Optional<Integer> findUnseenAchievementCount(@Param("ninjaId") Long ninjaId);
+
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE Ninja n SET n.unseenAchievementCount = " +
+           "CASE WHEN n.unseenAchievementCount + :delta < 0 THEN 0 ELSE n.unseenAchievementCount + :delta END " +
+           "WHERE n.id = :ninjaId")
+    int adjustUnseenAchievementCount(@Param("ninjaId") Long ninjaId, @Param("delta") int delta);
+
+    // recount from the progress rows, run on startup to fix any drift
+    @Modifying
+    @Query("UPDATE Ninja n SET n.unseenAchievementCount = " +
+           "(SELECT COUNT(ap) FROM AchievementProgress ap " +
+           "WHERE ap.ninja.id = n.id AND ap.unlocked = true AND ap.seen = false)")
+    int recountUnseenAchievements();
+
+    @Query("SELECT n.createdAt FROM Ninja n WHERE n.createdAt >= :since")
+    List<LocalDateTime> findCreatedAtSince(@Param("since") LocalDateTime since);
+
+    // keyset paging over ninja ids for batch jobs
+    @Query("SELECT n.id FROM Ninja n WHERE n.id > :afterId ORDER BY n.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Pageable pageable);
 }
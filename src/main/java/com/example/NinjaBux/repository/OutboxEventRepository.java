@@ -0,0 +1,21 @@
+package com.example.NinjaBux.repository;
+
+import com.example.NinjaBux.domain.OutboxEvent;
+import com.example.NinjaBux.domain.enums.OutboxStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    List<OutboxEvent> findTop50ByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(OutboxStatus status, LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.status = com.example.NinjaBux.domain.enums.OutboxStatus.DONE AND e.processedAt < :cutoff")
+    int deleteDoneBefore(@Param("cutoff") LocalDateTime cutoff);
+}
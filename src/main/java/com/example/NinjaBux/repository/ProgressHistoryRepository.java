@@ -4,11 +4,15 @@ import com.example.NinjaBux.domain.Ninja;
 import com.example.NinjaBux.domain.ProgressHistory;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import jakarta.persistence.QueryHint;
+
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface ProgressHistoryRepository extends JpaRepository<ProgressHistory, Long> {
@@ -30,4 +34,21 @@ public interface ProgressHistoryRepository extends JpaRepository<ProgressHistory
     List<Object[]> findMostImprovedSince(@Param("startDate") LocalDateTime startDate);
 
     List<ProgressHistory> findByCorrectionToId(Long correctionToId);
+
+    @Query("SELECT ph.ninja.id, ph.timestamp FROM ProgressHistory ph WHERE ph.earningType = 'LEVEL_UP'")
+    List<Object[]> findNinjaIdsAndProgressTimes();
+
+    // ordered by ninja then time so the cohort engine can walk it in a single pass
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("SELECT n.id, n.createdAt, ph.timestamp FROM ProgressHistory ph JOIN ph.ninja n " +
+           "WHERE ph.earningType = 'LEVEL_UP' AND n.createdAt >= :since " +
+           "ORDER BY n.id, ph.timestamp")
+    Stream<Object[]> streamCohortProgressSince(@Param("since") LocalDateTime since);
+
+    // per ninja in time order, so lesson/level deltas can be taken between consecutive rows
+    @Query("SELECT n.id, ph.timestamp, ph.beltType, ph.level, ph.lesson, n.beltPath " +
+           "FROM ProgressHistory ph JOIN ph.ninja n " +
+           "WHERE ph.earningType = 'LEVEL_UP' AND ph.timestamp >= :since " +
+           "ORDER BY n.id, ph.timestamp")
+    List<Object[]> findProgressForWindowsSince(@Param("since") LocalDateTime since);
 }
@@ -4,10 +4,16 @@ import com.example.NinjaBux.domain.Purchase;
 import com.example.NinjaBux.domain.Ninja;
 import com.example.NinjaBux.domain.ShopItem;
 import com.example.NinjaBux.domain.enums.PurchaseStatus;
+import com.example.NinjaBux.dto.PurchaseHistoryEntry;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -19,4 +25,87 @@ public interface PurchaseRepository extends JpaRepository<Purchase, Long> {
     long countByNinjaAndShopItem(Ninja ninja, ShopItem shopItem);
     long countByNinjaAndShopItemAndPurchaseDateAfter(Ninja ninja, ShopItem shopItem, LocalDateTime date);
     long countByNinjaAndShopItemAndStatus(Ninja ninja, ShopItem shopItem, PurchaseStatus status);
+
+    // lifetime and still-active counters for several items in one pass; per-day counts are
+    // kept in memory by DailyPurchaseCounter
+    @Query("SELECT p.shopItem.id, COUNT(p), " +
+           "SUM(CASE WHEN p.status = 'PURCHASED' THEN 1 ELSE 0 END) " +
+           "FROM Purchase p WHERE p.ninja.id = :ninjaId AND p.shopItem.id IN :itemIds " +
+           "GROUP BY p.shopItem.id")
+    List<Object[]> countForLimits(@Param("ninjaId") Long ninjaId,
+                                  @Param("itemIds") Collection<Long> itemIds);
+
+    @Query("SELECT p.ninja.id, p.shopItem.id, COUNT(p) FROM Purchase p " +
+           "WHERE p.purchaseDate >= :since GROUP BY p.ninja.id, p.shopItem.id")
+    List<Object[]> countByNinjaAndItemSince(@Param("since") LocalDateTime since);
+
+    // redemption queue pages walk (purchaseDate, id) so they stay cheap however deep the queue is
+    @Query("SELECT p FROM Purchase p JOIN FETCH p.ninja JOIN FETCH p.shopItem " +
+           "WHERE p.status = 'PURCHASED' ORDER BY p.purchaseDate ASC, p.id ASC")
+    List<Purchase> findRedemptionQueue(Pageable pageable);
+
+    @Query("SELECT p FROM Purchase p JOIN FETCH p.ninja JOIN FETCH p.shopItem " +
+           "WHERE p.status = 'PURCHASED' AND (p.purchaseDate > :afterDate " +
+           "OR (p.purchaseDate = :afterDate AND p.id > :afterId)) " +
+           "ORDER BY p.purchaseDate ASC, p.id ASC")
+    List<Purchase> findRedemptionQueueAfter(@Param("afterDate") LocalDateTime afterDate,
+                                            @Param("afterId") Long afterId,
+                                            Pageable pageable);
+
+    @Query("SELECT p FROM Purchase p JOIN FETCH p.ninja " +
+           "WHERE p.shopItem.id = :itemId AND p.status = 'PURCHASED' AND p.id > :afterId ORDER BY p.id ASC")
+    List<Purchase> findActiveByItemAfter(@Param("itemId") Long itemId,
+                                         @Param("afterId") Long afterId,
+                                         Pageable pageable);
+
+    // history pages walk (purchaseDate, id) newest first; a null :beforeDate means the first page
+    @Query("SELECT new com.example.NinjaBux.dto.PurchaseHistoryEntry(p.id, p.ninja.id, i.id, i.name, " +
+           "p.pricePaid, p.status, p.purchaseDate, p.redeemedDate) " +
+           "FROM Purchase p JOIN p.shopItem i WHERE p.ninja.id = :ninjaId " +
+           "AND (:beforeDate IS NULL OR p.purchaseDate < :beforeDate " +
+           "OR (p.purchaseDate = :beforeDate AND p.id < :beforeId)) " +
+           "ORDER BY p.purchaseDate DESC, p.id DESC")
+    List<PurchaseHistoryEntry> findHistoryByNinja(@Param("ninjaId") Long ninjaId,
+                                                  @Param("beforeDate") LocalDateTime beforeDate,
+                                                  @Param("beforeId") Long beforeId,
+                                                  Pageable pageable);
+
+    @Query("SELECT new com.example.NinjaBux.dto.PurchaseHistoryEntry(p.id, p.ninja.id, i.id, i.name, " +
+           "p.pricePaid, p.status, p.purchaseDate, p.redeemedDate) " +
+           "FROM Purchase p JOIN p.shopItem i " +
+           "WHERE (:itemId IS NULL OR i.id = :itemId) " +
+           "AND (:status IS NULL OR p.status = :status) " +
+           "AND (:from IS NULL OR p.purchaseDate >= :from) " +
+           "AND (:to IS NULL OR p.purchaseDate < :to) " +
+           "AND (:beforeDate IS NULL OR p.purchaseDate < :beforeDate " +
+           "OR (p.purchaseDate = :beforeDate AND p.id < :beforeId)) " +
+           "ORDER BY p.purchaseDate DESC, p.id DESC")
+    List<PurchaseHistoryEntry> findHistory(@Param("itemId") Long itemId,
+                                           @Param("status") PurchaseStatus status,
+                                           @Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to,
+                                           @Param("beforeDate") LocalDateTime beforeDate,
+                                           @Param("beforeId") Long beforeId,
+                                           Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE Purchase p SET p.status = :redeemed, p.redeemedDate = :now " +
+           "WHERE p.id IN :ids AND p.status = :purchased")
+    int redeemAll(@Param("ids") Collection<Long> ids,
+                  @Param("now") LocalDateTime now,
+                  @Param("purchased") PurchaseStatus purchased,
+                  @Param("redeemed") PurchaseStatus redeemed);
+
+    @Query("SELECT p.ninja.id, p.purchaseDate FROM Purchase p")
+    List<Object[]> findNinjaIdsAndPurchaseDates();
+
+    @Query("SELECT p.ninja.id, EXTRACT(DATE FROM p.purchaseDate), EXTRACT(HOUR FROM p.purchaseDate), " +
+           "COUNT(p), SUM(p.pricePaid) FROM Purchase p " +
+           "WHERE p.purchaseDate >= :since AND p.status NOT IN ('REFUNDED', 'CANCELED') " +
+           "GROUP BY p.ninja.id, EXTRACT(DATE FROM p.purchaseDate), EXTRACT(HOUR FROM p.purchaseDate)")
+    List<Object[]> findActivePurchaseTotalsSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT p.ninja.id, COUNT(p) FROM Purchase p " +
+           "WHERE p.status NOT IN ('REFUNDED', 'CANCELED') GROUP BY p.ninja.id")
+    List<Object[]> countActivePurchasesByNinja();
 }
@@ -2,6 +2,9 @@ package com.example.NinjaBux.repository;
 
 import com.example.NinjaBux.domain.ShopItem;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,4 +13,26 @@ import java.util.List;
 public interface ShopItemRepository extends JpaRepository<ShopItem, Long> {
     List<ShopItem> findByAvailableTrue();
     List<ShopItem> findByCategory(String category);
+
+    // only succeeds while there's enough left, so concurrent buyers can't oversell
+    @Modifying
+    @Query("UPDATE ShopItem i SET i.stockQuantity = i.stockQuantity - :quantity " +
+           "WHERE i.id = :id AND i.stockQuantity >= :quantity")
+    int decrementStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    @Modifying
+    @Query("UPDATE ShopItem i SET i.stockQuantity = i.stockQuantity + :quantity " +
+           "WHERE i.id = :id AND i.stockQuantity IS NOT NULL")
+    int incrementStock(@Param("id") Long id, @Param("quantity") int quantity);
+
+    // admin set/restock; null makes the item unlimited
+    @Modifying
+    @Query("UPDATE ShopItem i SET i.stockQuantity = :quantity WHERE i.id = :id")
+    int setStock(@Param("id") Long id, @Param("quantity") Integer quantity);
+
+    @Query("SELECT i.stockQuantity FROM ShopItem i WHERE i.id = :id")
+    Integer findStockQuantity(@Param("id") Long id);
+
+    @Query("SELECT i.id, i.stockQuantity, i.name FROM ShopItem i WHERE i.stockQuantity IS NOT NULL")
+    List<Object[]> findStockLevels();
 }
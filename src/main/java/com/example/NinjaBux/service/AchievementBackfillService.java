@@ -0,0 +1,304 @@
+package com.example.NinjaBux.service;
+
+import com.example.NinjaBux.domain.AchievementBackfillJob;
+import com.example.NinjaBux.domain.enums.BackfillStatus;
+import com.example.NinjaBux.dto.BackfillJobResponse;
+import com.example.NinjaBux.repository.AchievementBackfillJobRepository;
+import com.example.NinjaBux.repository.AchievementRepository;
+import com.example.NinjaBux.repository.NinjaRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// re-evaluates achievements for the whole ninja population in keyset chunks on a small pool.
+// each chunk commits on its own, and the job row only advances past chunks that finished in
+// order, so a resumed job picks up from the last contiguous ninja id
+@Service
+public class AchievementBackfillService {
+
+  private static final Logger logger = LoggerFactory.getLogger(AchievementBackfillService.class);
+
+  private static final int CHUNK_ATTEMPTS = 3;
+
+  @Autowired private AchievementBackfillJobRepository jobRepository;
+
+  @Autowired private AchievementRepository achievementRepository;
+
+  @Autowired private NinjaRepository ninjaRepository;
+
+  @Autowired private AchievementService achievementService;
+
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  @Value("${ninjabux.achievements.backfill-chunk-size:200}")
+  private int chunkSize;
+
+  @Value("${ninjabux.achievements.backfill-threads:4}")
+  private int threads;
+
+  private TransactionTemplate transactionTemplate;
+  private ExecutorService coordinator;
+  private ExecutorService workers;
+
+  private final Map<Long, RunState> runs = new ConcurrentHashMap<>();
+
+  @PostConstruct
+  public void init() {
+    transactionTemplate = new TransactionTemplate(transactionManager);
+    coordinator = Executors.newSingleThreadExecutor();
+    workers = Executors.newFixedThreadPool(Math.max(1, threads));
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    coordinator.shutdownNow();
+    workers.shutdownNow();
+  }
+
+  // anything still marked running was cut off by a restart
+  @EventListener(ApplicationReadyEvent.class)
+  public void resumeInterruptedJobs() {
+    for (AchievementBackfillJob job : jobRepository.findByStatus(BackfillStatus.RUNNING)) {
+      if (!runs.containsKey(job.getId())) {
+        logger.info(
+            "Resuming achievement backfill job {} after ninja {}",
+            job.getId(),
+            job.getLastNinjaId());
+        launch(job);
+      }
+    }
+  }
+
+  public synchronized AchievementBackfillJob startBackfill(Long achievementId, String requestedBy) {
+    if (achievementId != null && !achievementRepository.existsById(achievementId)) {
+      throw new IllegalArgumentException("Achievement not found: " + achievementId);
+    }
+    if (!runs.isEmpty()) {
+      throw new IllegalStateException("An achievement backfill is already running");
+    }
+    AchievementBackfillJob job =
+        jobRepository.save(
+            new AchievementBackfillJob(achievementId, ninjaRepository.count(), requestedBy));
+    logger.info(
+        "Achievement backfill {} started by {} for {}",
+        job.getId(),
+        requestedBy,
+        achievementId != null ? "achievement " + achievementId : "all achievements");
+    launch(job);
+    return job;
+  }
+
+  public synchronized AchievementBackfillJob resume(Long jobId) {
+    AchievementBackfillJob job = findJob(jobId);
+    if (job.getStatus() == BackfillStatus.COMPLETED || runs.containsKey(jobId)) {
+      throw new IllegalStateException("Backfill job " + jobId + " is not resumable");
+    }
+    if (!runs.isEmpty()) {
+      throw new IllegalStateException("An achievement backfill is already running");
+    }
+    job.setStatus(BackfillStatus.RUNNING);
+    job.setError(null);
+    job.setFinishedAt(null);
+    job.setTotalNinjas(ninjaRepository.count());
+    job = jobRepository.save(job);
+    launch(job);
+    return job;
+  }
+
+  public BackfillJobResponse getJob(Long jobId) {
+    AchievementBackfillJob job = findJob(jobId);
+    return new BackfillJobResponse(job, estimateSecondsLeft(job));
+  }
+
+  public List<BackfillJobResponse> getRecentJobs() {
+    return jobRepository.findTop20ByOrderByStartedAtDesc().stream()
+        .map(job -> new BackfillJobResponse(job, estimateSecondsLeft(job)))
+        .collect(Collectors.toList());
+  }
+
+  private AchievementBackfillJob findJob(Long jobId) {
+    return jobRepository
+        .findById(jobId)
+        .orElseThrow(() -> new IllegalArgumentException("Backfill job not found: " + jobId));
+  }
+
+  private void launch(AchievementBackfillJob job) {
+    RunState state = new RunState(job);
+    runs.put(job.getId(), state);
+    coordinator.submit(() -> runJob(job.getId(), job.getAchievementId(), state));
+  }
+
+  private void runJob(Long jobId, Long achievementId, RunState state) {
+    int maxInFlight = Math.max(1, threads) * 2;
+    Semaphore inFlight = new Semaphore(maxInFlight);
+    long afterId = state.watermark;
+    long sequence = 0;
+    try {
+      while (state.failure == null) {
+        List<Long> ninjaIds = ninjaRepository.findIdsAfter(afterId, PageRequest.of(0, chunkSize));
+        if (ninjaIds.isEmpty()) {
+          break;
+        }
+        afterId = ninjaIds.get(ninjaIds.size() - 1);
+        long chunkSequence = sequence++;
+
+        inFlight.acquire();
+        workers.submit(
+            () -> {
+              try {
+                Integer unlocked = runChunk(jobId, ninjaIds, achievementId);
+                chunkFinished(
+                    jobId, state, chunkSequence, ninjaIds, unlocked != null ? unlocked : 0);
+              } catch (Exception e) {
+                logger.error("Achievement backfill {} chunk failed: {}", jobId, e.getMessage(), e);
+                state.failure = e;
+              } finally {
+                inFlight.release();
+              }
+            });
+      }
+      // wait for the stragglers
+      inFlight.acquire(maxInFlight);
+      finishJob(jobId, state);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      logger.warn("Achievement backfill {} interrupted at ninja {}", jobId, state.watermark);
+    } catch (Exception e) {
+      state.failure = e;
+      finishJob(jobId, state);
+    } finally {
+      runs.remove(jobId);
+    }
+  }
+
+  // the outbox dispatcher can insert the same progress row while a chunk is running, failing
+  // the chunk on the unique constraint. A retry sees that row committed and leaves it alone
+  private Integer runChunk(Long jobId, List<Long> ninjaIds, Long achievementId) {
+    for (int attempt = 1; ; attempt++) {
+      try {
+        return transactionTemplate.execute(
+            status -> achievementService.backfillChunk(ninjaIds, achievementId));
+      } catch (DataIntegrityViolationException e) {
+        if (attempt >= CHUNK_ATTEMPTS) {
+          throw e;
+        }
+        logger.warn(
+            "Achievement backfill {} chunk hit a concurrent unlock, retrying: {}",
+            jobId,
+            e.getMessage());
+      }
+    }
+  }
+
+  // chunks can finish out of order; only move the watermark across the contiguous prefix
+  private void chunkFinished(
+      Long jobId, RunState state, long chunkSequence, List<Long> ninjaIds, int unlocked) {
+    synchronized (state) {
+      long lastNinjaId = ninjaIds.get(ninjaIds.size() - 1);
+      state.finished.put(chunkSequence, new ChunkResult(lastNinjaId, ninjaIds.size(), unlocked));
+      boolean advanced = false;
+      while (state.finished.containsKey(state.nextSequence)) {
+        ChunkResult chunk = state.finished.remove(state.nextSequence++);
+        state.watermark = chunk.lastNinjaId();
+        state.processed += chunk.size();
+        state.unlocked += chunk.unlocked();
+        advanced = true;
+      }
+      if (advanced) {
+        saveProgress(jobId, state, null, null);
+      }
+    }
+  }
+
+  private void finishJob(Long jobId, RunState state) {
+    synchronized (state) {
+      if (state.failure != null) {
+        String message = String.valueOf(state.failure.getMessage());
+        String error = message.substring(0, Math.min(500, message.length()));
+        saveProgress(jobId, state, BackfillStatus.FAILED, error);
+        logger.warn("Achievement backfill {} failed after {} ninjas", jobId, state.processed);
+      } else {
+        saveProgress(jobId, state, BackfillStatus.COMPLETED, null);
+        logger.info(
+            "Achievement backfill {} finished: {} ninjas, {} unlocks",
+            jobId,
+            state.processed,
+            state.unlocked);
+      }
+    }
+  }
+
+  private void saveProgress(Long jobId, RunState state, BackfillStatus finalStatus, String error) {
+    transactionTemplate.executeWithoutResult(
+        status ->
+            jobRepository
+                .findById(jobId)
+                .ifPresent(
+                    job -> {
+                      job.setProcessedNinjas(state.processed);
+                      job.setUnlockedCount(state.unlocked);
+                      job.setLastNinjaId(state.watermark);
+                      if (finalStatus != null) {
+                        job.setStatus(finalStatus);
+                        job.setError(error);
+                        job.setFinishedAt(LocalDateTime.now());
+                      }
+                      jobRepository.save(job);
+                    }));
+  }
+
+  private Long estimateSecondsLeft(AchievementBackfillJob job) {
+    RunState state = runs.get(job.getId());
+    if (state == null || job.getStatus() != BackfillStatus.RUNNING) {
+      return null;
+    }
+    long doneThisRun = state.processed - state.processedAtLaunch;
+    long elapsedMillis = Duration.between(state.launchedAt, Instant.now()).toMillis();
+    if (doneThisRun <= 0 || elapsedMillis <= 0) {
+      return null;
+    }
+    long remaining = Math.max(0, job.getTotalNinjas() - state.processed);
+    return remaining * elapsedMillis / doneThisRun / 1000;
+  }
+
+  private record ChunkResult(long lastNinjaId, int size, int unlocked) {}
+
+  private static class RunState {
+    final Instant launchedAt = Instant.now();
+    final long processedAtLaunch;
+    final TreeMap<Long, ChunkResult> finished = new TreeMap<>();
+    long nextSequence = 0;
+    long watermark;
+    volatile long processed;
+    long unlocked;
+    volatile Exception failure;
+
+    RunState(AchievementBackfillJob job) {
+      this.watermark = job.getLastNinjaId() != null ? job.getLastNinjaId() : 0L;
+      this.processed = job.getProcessedNinjas();
+      this.processedAtLaunch = job.getProcessedNinjas();
+      this.unlocked = job.getUnlockedCount();
+    }
+  }
+}
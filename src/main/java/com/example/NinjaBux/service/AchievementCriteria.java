@@ -0,0 +1,178 @@
+package com.example.NinjaBux.service;
+
+import com.example.NinjaBux.domain.enums.AchievementTrigger;
+import com.example.NinjaBux.domain.enums.BeltType;
+import com.example.NinjaBux.exception.InvalidCriteriaException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.EnumSet;
+import java.util.Set;
+
+// parsed and validated Achievement.unlockCriteria, e.g. {"type":"LESSONS_COMPLETED","threshold":10}.
+// counted types also take an optional "windowDays" to only count the last N days (today included)
+public final class AchievementCriteria {
+
+  public enum Type {
+    LESSONS_COMPLETED,
+    LEVELS_COMPLETED,
+    BELT_REACHED,
+    TOTAL_BUX_EARNED,
+    PURCHASES_MADE,
+    TOTAL_SPENT,
+    LEGACY_POINTS
+  }
+
+  // the figures a criteria can be checked against
+  public interface Metrics {
+    int lessonsCompleted();
+
+    int levelsCompleted();
+
+    BeltType currentBelt();
+
+    int totalBuxEarned();
+
+    int purchasesMade();
+
+    int totalSpent();
+
+    int legacyPoints();
+
+    // LESSONS_COMPLETED, LEVELS_COMPLETED, TOTAL_BUX_EARNED, PURCHASES_MADE, TOTAL_SPENT only
+    int windowTotal(Type type, int days);
+  }
+
+  private static final ObjectMapper objectMapper = new ObjectMapper();
+
+  private final Type type;
+  private final int threshold;
+  private final BeltType belt;
+  private final int windowDays;
+
+  private AchievementCriteria(Type type, int threshold, BeltType belt, int windowDays) {
+    this.type = type;
+    this.threshold = threshold;
+    this.belt = belt;
+    this.windowDays = windowDays;
+  }
+
+  // null/blank criteria means the achievement can't auto-unlock, so that's not an error
+  public static AchievementCriteria parse(String json) {
+    if (json == null || json.isBlank()) {
+      return null;
+    }
+
+    JsonNode node;
+    try {
+      node = objectMapper.readTree(json);
+    } catch (Exception e) {
+      throw new InvalidCriteriaException("Unlock criteria is not valid JSON");
+    }
+    if (node == null || !node.isObject()) {
+      throw new InvalidCriteriaException("Unlock criteria must be a JSON object");
+    }
+
+    JsonNode typeNode = node.get("type");
+    if (typeNode == null || !typeNode.isTextual()) {
+      throw new InvalidCriteriaException("Unlock criteria is missing a type");
+    }
+    Type type;
+    try {
+      type = Type.valueOf(typeNode.asText());
+    } catch (IllegalArgumentException e) {
+      throw new InvalidCriteriaException("Unknown unlock criteria type: " + typeNode.asText());
+    }
+
+    int windowDays = 0;
+    JsonNode windowNode = node.get("windowDays");
+    if (windowNode != null && !windowNode.isNull()) {
+      if (!ActivityWindowService.supportsWindow(type)) {
+        throw new InvalidCriteriaException(type + " criteria can't have a window");
+      }
+      if (!windowNode.canConvertToInt()
+          || windowNode.asInt() <= 0
+          || windowNode.asInt() > ActivityWindowService.MAX_WINDOW_DAYS) {
+        throw new InvalidCriteriaException(
+            "windowDays must be between 1 and " + ActivityWindowService.MAX_WINDOW_DAYS);
+      }
+      windowDays = windowNode.asInt();
+    }
+
+    if (type == Type.BELT_REACHED) {
+      JsonNode beltNode = node.get("belt");
+      if (beltNode == null || !beltNode.isTextual()) {
+        throw new InvalidCriteriaException("BELT_REACHED criteria needs a belt");
+      }
+      try {
+        return new AchievementCriteria(type, 0, BeltType.valueOf(beltNode.asText()), 0);
+      } catch (IllegalArgumentException e) {
+        throw new InvalidCriteriaException("Unknown belt: " + beltNode.asText());
+      }
+    }
+
+    JsonNode thresholdNode = node.get("threshold");
+    if (thresholdNode == null || !thresholdNode.canConvertToInt() || thresholdNode.asInt() <= 0) {
+      throw new InvalidCriteriaException(type + " criteria needs a positive integer threshold");
+    }
+    return new AchievementCriteria(type, thresholdNode.asInt(), null, windowDays);
+  }
+
+  public Type getType() {
+    return type;
+  }
+
+  public int getThreshold() {
+    return threshold;
+  }
+
+  public BeltType getBelt() {
+    return belt;
+  }
+
+  // 0 means all-time
+  public int getWindowDays() {
+    return windowDays;
+  }
+
+  // the events after which this criteria is worth re-checking
+  public Set<AchievementTrigger> getTriggers() {
+    return switch (type) {
+      case LESSONS_COMPLETED, LEVELS_COMPLETED, BELT_REACHED ->
+          EnumSet.of(AchievementTrigger.PROGRESS);
+      case TOTAL_BUX_EARNED ->
+          EnumSet.of(AchievementTrigger.PROGRESS, AchievementTrigger.BUX_AWARDED);
+      case PURCHASES_MADE, TOTAL_SPENT -> EnumSet.of(AchievementTrigger.PURCHASE);
+      case LEGACY_POINTS -> EnumSet.of(AchievementTrigger.LEGACY_GRANTED);
+    };
+  }
+
+  public boolean isSatisfied(Metrics metrics) {
+    if (type == Type.BELT_REACHED) {
+      return metrics.currentBelt() != null && metrics.currentBelt().ordinal() >= belt.ordinal();
+    }
+    return currentValue(metrics) >= threshold;
+  }
+
+  public int progressPercent(Metrics metrics) {
+    if (type == Type.BELT_REACHED) {
+      return isSatisfied(metrics) ? 100 : 0;
+    }
+    int progress = (int) ((double) currentValue(metrics) / threshold * 100);
+    return Math.max(0, Math.min(100, progress));
+  }
+
+  private int currentValue(Metrics metrics) {
+    if (windowDays > 0) {
+      return metrics.windowTotal(type, windowDays);
+    }
+    return switch (type) {
+      case LESSONS_COMPLETED -> metrics.lessonsCompleted();
+      case LEVELS_COMPLETED -> metrics.levelsCompleted();
+      case TOTAL_BUX_EARNED -> metrics.totalBuxEarned();
+      case PURCHASES_MADE -> metrics.purchasesMade();
+      case TOTAL_SPENT -> metrics.totalSpent();
+      case LEGACY_POINTS -> metrics.legacyPoints();
+      case BELT_REACHED -> 0;
+    };
+  }
+}
@@ -0,0 +1,55 @@
+package com.example.NinjaBux.service;
+
+import com.example.NinjaBux.domain.Achievement;
+import com.example.NinjaBux.exception.InvalidCriteriaException;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+// compiled criteria per achievement, keyed on id and reused until updatedAt moves
+@Component
+public class AchievementCriteriaCache {
+
+  private static final Logger logger = LoggerFactory.getLogger(AchievementCriteriaCache.class);
+
+  private final Map<Long, CachedCriteria> cache = new ConcurrentHashMap<>();
+
+  // null when the achievement has no usable criteria
+  public AchievementCriteria get(Achievement achievement) {
+    if (achievement.getId() == null) {
+      return compileQuietly(achievement);
+    }
+    CachedCriteria cached = cache.get(achievement.getId());
+    if (cached != null && Objects.equals(cached.updatedAt(), achievement.getUpdatedAt())) {
+      return cached.criteria();
+    }
+    AchievementCriteria criteria = compileQuietly(achievement);
+    cache.put(achievement.getId(), new CachedCriteria(achievement.getUpdatedAt(), criteria));
+    return criteria;
+  }
+
+  public void invalidate(Long achievementId) {
+    if (achievementId != null) {
+      cache.remove(achievementId);
+    }
+  }
+
+  // rows saved before validation existed can still be bad; log them once per version, not per check
+  private AchievementCriteria compileQuietly(Achievement achievement) {
+    try {
+      return AchievementCriteria.parse(achievement.getUnlockCriteria());
+    } catch (InvalidCriteriaException e) {
+      logger.warn(
+          "Ignoring invalid unlock criteria on achievement '{}': {}",
+          achievement.getName(),
+          e.getMessage());
+      return null;
+    }
+  }
+
+  private record CachedCriteria(LocalDateTime updatedAt, AchievementCriteria criteria) {}
+}
@@ -0,0 +1,114 @@
+package com.example.NinjaBux.service;
+
+import com.example.NinjaBux.domain.AchievementProgress;
+import com.example.NinjaBux.domain.Ninja;
+import com.example.NinjaBux.domain.enums.BeltType;
+import com.example.NinjaBux.repository.LegacyLedgerTxnRepository;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// one ninja's progress rows plus each metric computed at most once, for a single evaluation pass
+class AchievementEvaluationContext implements AchievementCriteria.Metrics {
+
+  private final Ninja ninja;
+  private final Map<Long, AchievementProgress> progressByAchievement = new HashMap<>();
+  private final LedgerService ledgerService;
+  private final LegacyLedgerTxnRepository legacyLedgerTxnRepository;
+  private final ActivityWindowService activityWindowService;
+
+  private Integer lessonsCompleted;
+  private Integer levelsCompleted;
+  private int[] earnedAndSpent;
+  private Integer legacyPoints;
+
+  AchievementEvaluationContext(
+      Ninja ninja,
+      List<AchievementProgress> progressRows,
+      LedgerService ledgerService,
+      LegacyLedgerTxnRepository legacyLedgerTxnRepository,
+      ActivityWindowService activityWindowService) {
+    this.ninja = ninja;
+    this.ledgerService = ledgerService;
+    this.legacyLedgerTxnRepository = legacyLedgerTxnRepository;
+    this.activityWindowService = activityWindowService;
+    for (AchievementProgress progress : progressRows) {
+      progressByAchievement.put(progress.getAchievement().getId(), progress);
+    }
+  }
+
+  Ninja getNinja() {
+    return ninja;
+  }
+
+  AchievementProgress getProgress(Long achievementId) {
+    return progressByAchievement.get(achievementId);
+  }
+
+  @Override
+  public int lessonsCompleted() {
+    if (lessonsCompleted == null) {
+      lessonsCompleted =
+          BeltRewardCalculator.calculateTotalLessons(
+              ninja.getCurrentBeltType(),
+              ninja.getCurrentLevel(),
+              ninja.getCurrentLesson(),
+              ninja.getBeltPath());
+    }
+    return lessonsCompleted;
+  }
+
+  @Override
+  public int levelsCompleted() {
+    if (levelsCompleted == null) {
+      levelsCompleted =
+          BeltRewardCalculator.calculateTotalLevels(
+              ninja.getCurrentBeltType(), ninja.getCurrentLevel(), ninja.getBeltPath());
+    }
+    return levelsCompleted;
+  }
+
+  @Override
+  public BeltType currentBelt() {
+    return ninja.getCurrentBeltType();
+  }
+
+  @Override
+  public int totalBuxEarned() {
+    return earnedAndSpent()[0];
+  }
+
+  @Override
+  public int purchasesMade() {
+    return activityWindowService.lifetimePurchases(ninja.getId());
+  }
+
+  @Override
+  public int totalSpent() {
+    return earnedAndSpent()[1];
+  }
+
+  @Override
+  public int legacyPoints() {
+    if (legacyPoints == null) {
+      legacyPoints =
+          ninja.getLegacyPoints() > 0
+              ? ninja.getLegacyPoints()
+              : legacyLedgerTxnRepository.sumAmountByNinja(ninja);
+    }
+    return legacyPoints;
+  }
+
+  @Override
+  public int windowTotal(AchievementCriteria.Type type, int days) {
+    return activityWindowService.windowTotal(ninja.getId(), type, days);
+  }
+
+  // earned and spent come back from the same query, so whichever is asked for first loads both
+  private int[] earnedAndSpent() {
+    if (earnedAndSpent == null) {
+      earnedAndSpent = ledgerService.getEarnedAndSpent(ninja.getId());
+    }
+    return earnedAndSpent;
+  }
+}
@@ -2,7 +2,7 @@ package com.example.NinjaBux.service;
 
 import com.example.NinjaBux.domain.*;
 import com.example.NinjaBux.domain.enums.AchievementCategory;
-import com.example.NinjaBux.domain.enums.BadgeRarity;
+import com.example.NinjaBux.domain.enums.AchievementTrigger;
 import com.example.NinjaBux.domain.enums.BeltType;
 import com.example.NinjaBux.dto.AchievementDTO;
 import com.example.NinjaBux.dto.AchievementProgressDTO;
@@ -10,15 +10,22 @@ import com.example.NinjaBux.repository.AchievementProgressRepository;
 import com.example.NinjaBux.repository.AchievementRepository;
 import com.example.NinjaBux.repository.LegacyLedgerTxnRepository;
 import com.example.NinjaBux.repository.NinjaRepository;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.example.NinjaBux.util.TransactionUtils;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -40,13 +47,39 @@ public class AchievementService {
 
   @Autowired private LegacyLedgerTxnRepository legacyLedgerTxnRepository;
 
-  private final ObjectMapper objectMapper = new ObjectMapper();
+  @Autowired private AchievementCriteriaCache criteriaCache;
+
+  @Autowired private ActivityWindowService activityWindowService;
+
+  @Autowired private AchievementStatsService statsService;
+
+  @Autowired private NotificationService notificationService;
+
+  private static final Comparator<AchievementProgress> BY_RARITY =
+      Comparator.comparingInt(progress -> progress.getAchievement().getRarity().ordinal());
+
+  // trigger -> active auto achievement ids, rebuilt lazily after any achievement edit
+  private volatile Map<AchievementTrigger, List<Long>> triggerIndex;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void fillLeaderboardBadgePointers() {
+    int filled = ninjaRepository.fillMissingLeaderboardBadges();
+    if (filled > 0) {
+      logger.info("Filled leaderboard badge pointers for {} ninjas", filled);
+    }
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void recountUnseenAchievements() {
+    ninjaRepository.recountUnseenAchievements();
+  }
 
   public AchievementDTO createAchievement(AchievementDTO dto, String adminUsername) {
     Achievement achievement = new Achievement();
     updateAchievementFromDTO(achievement, dto);
 
     achievement = achievementRepository.save(achievement);
+    invalidateCriteria(achievement.getId());
 
     auditService.log(
         adminUsername, "CREATE_ACHIEVEMENT", "Created achievement: " + achievement.getName());
@@ -65,6 +98,7 @@ public class AchievementService {
     updateAchievementFromDTO(achievement, dto);
 
     achievement = achievementRepository.save(achievement);
+    invalidateCriteria(id);
 
     auditService.log(
         adminUsername,
@@ -82,6 +116,7 @@ public class AchievementService {
 
     String name = achievement.getName();
     achievementRepository.delete(achievement);
+    invalidateCriteria(id);
 
     auditService.log(adminUsername, "DELETE_ACHIEVEMENT", "Deleted achievement: " + name);
 
@@ -96,6 +131,7 @@ public class AchievementService {
 
     achievement.setActive(!achievement.isActive());
     achievement = achievementRepository.save(achievement);
+    invalidateCriteria(id);
 
     auditService.log(
         adminUsername,
@@ -108,18 +144,21 @@ public class AchievementService {
   public List<AchievementDTO> getAllAchievements() {
     return achievementRepository.findAll().stream()
         .map(AchievementDTO::new)
+        .map(statsService::apply)
         .collect(Collectors.toList());
   }
 
   public List<AchievementDTO> getActiveAchievements() {
     return achievementRepository.findByActiveTrue().stream()
         .map(AchievementDTO::new)
+        .map(statsService::apply)
         .collect(Collectors.toList());
   }
 
   public List<AchievementDTO> getAchievementsByCategory(AchievementCategory category) {
     return achievementRepository.findByCategoryAndActiveTrue(category).stream()
         .map(AchievementDTO::new)
+        .map(statsService::apply)
         .collect(Collectors.toList());
   }
 
@@ -128,9 +167,12 @@ public class AchievementService {
         achievementRepository
             .findById(id)
             .orElseThrow(() -> new IllegalArgumentException("Achievement not found: " + id));
-    return new AchievementDTO(achievement);
+    return statsService.apply(new AchievementDTO(achievement));
   }
 
+  // read only: locked progress is worked out in memory here, and stored values are kept
+  // fresh by the write side (see unlockSatisfied)
+  @Transactional(readOnly = true)
   public List<AchievementProgressDTO> getNinjaAchievements(Long ninjaId, boolean includeHidden) {
     Ninja ninja =
         ninjaRepository
@@ -142,43 +184,34 @@ public class AchievementService {
             ? achievementRepository.findByActiveTrue()
             : achievementRepository.findByHiddenFalseAndActiveTrue();
 
+    AchievementEvaluationContext context = newEvaluationContext(ninja);
     List<AchievementProgressDTO> result = new ArrayList<>();
 
     for (Achievement achievement : achievements) {
-      Optional<AchievementProgress> progress =
-          progressRepository.findByNinjaAndAchievement(ninja, achievement);
+      AchievementProgress progress = context.getProgress(achievement.getId());
 
-      if (progress.isPresent()) {
-        if (achievement.isHidden() && !progress.get().isUnlocked()) {
-          continue;
-        }
-        AchievementProgress progressEntity = progress.get();
-        if (!progressEntity.isUnlocked()) {
-          int progressPercent = calculateProgressPercentage(ninja, achievement);
-          progressEntity.setProgressValue(progressPercent);
-          progressRepository.save(progressEntity);
-        }
-        result.add(new AchievementProgressDTO(progressEntity));
-      } else {
-        if (achievement.isHidden()) {
-          if (checkUnlockCriteria(ninja, achievement)) {
-            AchievementProgress newProgress = new AchievementProgress(ninja, achievement);
-            newProgress.unlock(false, null);
-            progressRepository.save(newProgress);
-            result.add(new AchievementProgressDTO(newProgress));
-          }
-        } else {
-          AchievementProgress newProgress = new AchievementProgress(ninja, achievement);
-          int progressPercent = calculateProgressPercentage(ninja, achievement);
-          newProgress.setProgressValue(progressPercent);
-          result.add(new AchievementProgressDTO(progressRepository.save(newProgress)));
-        }
+      if (progress != null && progress.isUnlocked()) {
+        result.add(new AchievementProgressDTO(progress));
+        continue;
+      }
+      // hidden ones only show up once unlocked
+      if (achievement.isHidden()) {
+        continue;
       }
+
+      AchievementProgressDTO dto =
+          progress != null
+              ? new AchievementProgressDTO(progress)
+              : new AchievementProgressDTO(ninjaId, achievement);
+      dto.setProgressValue(calculateProgressPercentage(context, achievement));
+      result.add(dto);
     }
 
+    result.forEach(statsService::apply);
     return result;
   }
 
+  @Transactional(readOnly = true)
   public List<AchievementProgressDTO> getUnlockedAchievements(Long ninjaId) {
     Ninja ninja =
         ninjaRepository
@@ -187,9 +220,11 @@ public class AchievementService {
 
     return progressRepository.findByNinjaAndUnlockedTrue(ninja).stream()
         .map(AchievementProgressDTO::new)
+        .map(statsService::apply)
         .collect(Collectors.toList());
   }
 
+  @Transactional(readOnly = true)
   public List<AchievementProgressDTO> getTopAchievements(Long ninjaId, int limit) {
     Ninja ninja =
         ninjaRepository
@@ -199,99 +234,101 @@ public class AchievementService {
     return progressRepository.findTopAchievementsByNinja(ninja).stream()
         .limit(limit)
         .map(AchievementProgressDTO::new)
+        .map(statsService::apply)
         .collect(Collectors.toList());
   }
 
+  // the ninja's chosen badge via the pointer on Ninja, otherwise their rarest unlock
+  @Transactional(readOnly = true)
   public AchievementProgressDTO getLeaderboardBadge(Long ninjaId) {
-    Ninja ninja =
-        ninjaRepository
-            .findById(ninjaId)
-            .orElseThrow(() -> new IllegalArgumentException("Ninja not found: " + ninjaId));
-
-    List<AchievementProgress> unlocked = progressRepository.findByNinjaAndUnlockedTrue(ninja);
-    if (unlocked.isEmpty()) {
-      return null;
-    }
-
-    Optional<AchievementProgress> selectedBadge =
-        unlocked.stream().filter(AchievementProgress::isLeaderboardBadge).findFirst();
-
+    Optional<AchievementProgress> selectedBadge = progressRepository.findLeaderboardBadge(ninjaId);
     if (selectedBadge.isPresent()) {
       return new AchievementProgressDTO(selectedBadge.get());
     }
 
-    return unlocked.stream()
-        .map(AchievementProgressDTO::new)
-        .max(
-            (a, b) -> {
-              BadgeRarity rarityA = a.getAchievement().getRarity();
-              BadgeRarity rarityB = b.getAchievement().getRarity();
-              return Integer.compare(rarityA.ordinal(), rarityB.ordinal());
-            })
-        .orElse(null);
-  }
-
-  @Transactional
-  public void setLeaderboardBadge(Long ninjaId, Long achievementProgressId) {
     Ninja ninja =
         ninjaRepository
             .findById(ninjaId)
             .orElseThrow(() -> new IllegalArgumentException("Ninja not found: " + ninjaId));
 
-    AchievementProgress selectedProgress =
-        progressRepository
-            .findById(achievementProgressId)
-            .orElseThrow(
-                () ->
-                    new IllegalArgumentException(
-                        "Achievement progress not found: " + achievementProgressId));
+    return progressRepository.findByNinjaAndUnlockedTrue(ninja).stream()
+        .max(BY_RARITY)
+        .map(AchievementProgressDTO::new)
+        .orElse(null);
+  }
 
-    Ninja progressNinja = selectedProgress.getNinja();
-    if (progressNinja == null || !progressNinja.getId().equals(ninjaId)) {
-      throw new IllegalArgumentException("Achievement does not belong to this ninja");
+  // getLeaderboardBadge for a whole leaderboard page: the chosen badges in one join through
+  // the pointer on Ninja, then one query over the unlocks of everyone left for the rarest.
+  // ninjas with no badge and no unlocks are missing from the map
+  @Transactional(readOnly = true)
+  public Map<Long, AchievementProgressDTO> getLeaderboardBadges(Collection<Long> ninjaIds) {
+    Map<Long, AchievementProgressDTO> badges = new HashMap<>();
+    if (ninjaIds.isEmpty()) {
+      return badges;
+    }
+    for (AchievementProgress progress : progressRepository.findLeaderboardBadges(ninjaIds)) {
+      badges.put(progress.getNinja().getId(), new AchievementProgressDTO(progress));
     }
 
-    if (!selectedProgress.isUnlocked()) {
-      throw new IllegalArgumentException("Cannot set locked achievement as leaderboard badge");
+    List<Long> withoutBadge =
+        ninjaIds.stream().filter(id -> !badges.containsKey(id)).distinct().toList();
+    if (withoutBadge.isEmpty()) {
+      return badges;
     }
+    progressRepository.findUnlockedByNinjaIds(withoutBadge).stream()
+        .collect(
+            Collectors.groupingBy(
+                progress -> progress.getNinja().getId(),
+                Collectors.maxBy(BY_RARITY)))
+        .forEach(
+            (ninjaId, rarest) ->
+                rarest.ifPresent(
+                    progress -> badges.put(ninjaId, new AchievementProgressDTO(progress))));
+    return badges;
+  }
 
-    List<AchievementProgress> allProgress = progressRepository.findByNinja(ninja);
-    for (AchievementProgress progress : allProgress) {
-      if (progress.isLeaderboardBadge() && !progress.getId().equals(achievementProgressId)) {
-        progress.setLeaderboardBadge(false);
-        progressRepository.save(progress);
+  // two set-based updates: the pointer on Ninja (which also checks ownership and that it's
+  // unlocked) and the flag on the progress rows the badge moved between
+  @Transactional
+  public void setLeaderboardBadge(Long ninjaId, Long achievementProgressId) {
+    if (ninjaRepository.setLeaderboardBadge(ninjaId, achievementProgressId) == 0) {
+      if (!ninjaRepository.existsById(ninjaId)) {
+        throw new IllegalArgumentException("Ninja not found: " + ninjaId);
       }
+      throw new IllegalArgumentException(
+          "Achievement progress " + achievementProgressId + " is not unlocked for this ninja");
     }
-
-    selectedProgress.setLeaderboardBadge(true);
-    selectedProgress = progressRepository.save(selectedProgress);
-
-    progressRepository.flush();
+    progressRepository.moveLeaderboardBadge(ninjaId, achievementProgressId);
   }
 
+  // fallback for clients that missed a push, skips the progress query when the counter says 0
+  @Transactional(readOnly = true)
   public List<AchievementProgressDTO> getUnseenAchievements(Long ninjaId) {
-    Ninja ninja =
-        ninjaRepository
-            .findById(ninjaId)
-            .orElseThrow(() -> new IllegalArgumentException("Ninja not found: " + ninjaId));
-
-    return progressRepository.findByNinjaAndUnlockedTrueAndSeenFalse(ninja).stream()
+    if (getUnseenCount(ninjaId) == 0) {
+      return new ArrayList<>();
+    }
+    return progressRepository.findUnseenWithAchievement(ninjaId).stream()
         .map(AchievementProgressDTO::new)
         .collect(Collectors.toList());
   }
 
-  public void markAchievementsSeen(Long ninjaId, List<Long> progressIds) {
-    Ninja ninja =
-        ninjaRepository
-            .findById(ninjaId)
-            .orElseThrow(() -> new IllegalArgumentException("Ninja not found: " + ninjaId));
+  @Transactional(readOnly = true)
+  public int getUnseenCount(Long ninjaId) {
+    return ninjaRepository
+        .findUnseenAchievementCount(ninjaId)
+        .orElseThrow(() -> new IllegalArgumentException("Ninja not found: " + ninjaId));
+  }
 
-    for (Long progressId : progressIds) {
-      AchievementProgress progress = progressRepository.findById(progressId).orElse(null);
-      if (progress != null && progress.getNinja().getId().equals(ninjaId)) {
-        progress.setSeen(true);
-        progressRepository.save(progress);
-      }
+  public void markAchievementsSeen(Long ninjaId, List<Long> progressIds) {
+    if (!ninjaRepository.existsById(ninjaId)) {
+      throw new IllegalArgumentException("Ninja not found: " + ninjaId);
+    }
+    if (progressIds == null || progressIds.isEmpty()) {
+      return;
+    }
+    int marked = progressRepository.markSeen(ninjaId, progressIds, LocalDateTime.now());
+    if (marked > 0) {
+      ninjaRepository.adjustUnseenAchievementCount(ninjaId, -marked);
     }
   }
 
@@ -319,6 +356,8 @@ public class AchievementService {
 
     progress.unlock(true, adminUsername);
     progress = progressRepository.save(progress);
+    statsService.recordUnlocks(List.of(achievement.getId()));
+    ninjaRepository.adjustUnseenAchievementCount(ninjaId, 1);
 
     if (achievement.getBuxReward() > 0) {
       ledgerService.recordAchievementReward(
@@ -342,7 +381,9 @@ public class AchievementService {
         ninja.getFirstName() + " " + ninja.getLastName(),
         adminUsername);
 
-    return new AchievementProgressDTO(progress);
+    AchievementProgressDTO awarded = new AchievementProgressDTO(progress);
+    pushAfterCommit(List.of(awarded));
+    return awarded;
   }
 
   public void revokeAchievement(Long ninjaId, Long achievementId, String adminUsername) {
@@ -374,7 +415,12 @@ public class AchievementService {
           adminUsername);
     }
 
+    ninjaRepository.clearLeaderboardBadge(progress.getId());
+    if (!progress.isSeen()) {
+      ninjaRepository.adjustUnseenAchievementCount(ninjaId, -1);
+    }
     progressRepository.delete(progress);
+    statsService.recordRevoke(achievement.getId());
 
     auditService.log(
         adminUsername,
@@ -400,161 +446,193 @@ public class AchievementService {
             .findById(ninjaId)
             .orElseThrow(() -> new IllegalArgumentException("Ninja not found: " + ninjaId));
 
-    List<Achievement> autoAchievements = achievementRepository.findByActiveTrueAndManualOnlyFalse();
-    List<AchievementProgressDTO> newlyUnlocked = new ArrayList<>();
-
-    for (Achievement achievement : autoAchievements) {
-      Optional<AchievementProgress> existingProgress =
-          progressRepository.findByNinjaAndAchievement(ninja, achievement);
-
-      if (existingProgress.isPresent() && existingProgress.get().isUnlocked()) {
-        continue;
-      }
+    return unlockSatisfied(ninja, achievementRepository.findByActiveTrueAndManualOnlyFalse());
+  }
 
-      if (checkUnlockCriteria(ninja, achievement)) {
-        AchievementProgress progress =
-            existingProgress.orElse(new AchievementProgress(ninja, achievement));
-        progress.unlock(false, null);
-        progress = progressRepository.save(progress);
+  // only looks at achievements whose criteria the event can actually move
+  public List<AchievementProgressDTO> checkAndUnlockAchievements(
+      Long ninjaId, AchievementTrigger trigger) {
+    List<Long> achievementIds = getTriggerIndex().getOrDefault(trigger, List.of());
+    if (achievementIds.isEmpty()) {
+      return new ArrayList<>();
+    }
 
-        if (achievement.getBuxReward() > 0) {
-          ledgerService.recordAchievementReward(
-              ninjaId, achievement.getId(), achievement.getBuxReward(), achievement.getName());
-        }
+    Ninja ninja =
+        ninjaRepository
+            .findById(ninjaId)
+            .orElseThrow(() -> new IllegalArgumentException("Ninja not found: " + ninjaId));
 
-        newlyUnlocked.add(new AchievementProgressDTO(progress));
+    List<Achievement> candidates =
+        achievementRepository.findAllById(achievementIds).stream()
+            .filter(a -> a.isActive() && !a.isManualOnly())
+            .collect(Collectors.toList());
+    return unlockSatisfied(ninja, candidates);
+  }
 
-        logger.info(
-            "Achievement auto-unlocked: {} for ninja: {}",
-            achievement.getName(),
-            ninja.getFirstName() + " " + ninja.getLastName());
-      }
+  // one backfill chunk: a single achievement (or all auto ones when null) against these ninjas,
+  // returns how many unlocks happened
+  public int backfillChunk(List<Long> ninjaIds, Long achievementId) {
+    List<Achievement> candidates =
+        achievementId == null
+            ? achievementRepository.findByActiveTrueAndManualOnlyFalse()
+            : achievementRepository
+                .findById(achievementId)
+                .filter(a -> a.isActive() && !a.isManualOnly())
+                .map(List::of)
+                .orElse(List.of());
+    if (candidates.isEmpty()) {
+      return 0;
     }
 
-    return newlyUnlocked;
+    int unlocked = 0;
+    for (Ninja ninja : ninjaRepository.findAllById(ninjaIds)) {
+      unlocked += unlockSatisfied(ninja, candidates).size();
+    }
+    return unlocked;
   }
 
-  private int calculateProgressPercentage(Ninja ninja, Achievement achievement) {
-    if (achievement.getUnlockCriteria() == null || achievement.getUnlockCriteria().isEmpty()) {
-      return 0;
-    }
+  // unlocks whatever is now satisfied and refreshes stored progress for the rest. New rows go
+  // in with one saveAll; existing rows are only changed through conditional updates, so a
+  // concurrent evaluation of the same ninja can't unlock (and pay for) a row twice, and a
+  // stale copy never writes unlocked = false back over someone else's unlock
+  private List<AchievementProgressDTO> unlockSatisfied(
+      Ninja ninja, List<Achievement> autoAchievements) {
+    AchievementEvaluationContext context = newEvaluationContext(ninja);
+    LocalDateTime now = LocalDateTime.now();
 
-    try {
-      JsonNode criteria = objectMapper.readTree(achievement.getUnlockCriteria());
-      String type = criteria.get("type").asText();
-      int threshold = criteria.has("threshold") ? criteria.get("threshold").asInt() : 0;
+    List<AchievementProgress> created = new ArrayList<>();
+    List<AchievementProgressDTO> newlyUnlocked = new ArrayList<>();
+    List<Achievement> unlockedAchievements = new ArrayList<>();
+    for (Achievement achievement : autoAchievements) {
+      AchievementProgress existingProgress = context.getProgress(achievement.getId());
+      if (existingProgress != null && existingProgress.isUnlocked()) {
+        continue;
+      }
+      AchievementCriteria criteria = criteriaCache.get(achievement);
+      if (criteria == null) {
+        continue;
+      }
 
-      if (threshold == 0) {
-        return 0;
+      if (criteria.isSatisfied(context)) {
+        if (existingProgress == null) {
+          AchievementProgress progress = new AchievementProgress(ninja, achievement);
+          progress.unlock(false, null);
+          progress.setProgressValue(100);
+          created.add(progress);
+          unlockedAchievements.add(achievement);
+        } else if (progressRepository.unlockIfLocked(existingProgress.getId(), now) == 1) {
+          newlyUnlocked.add(unlockedView(existingProgress, now));
+          unlockedAchievements.add(achievement);
+        }
+        continue;
       }
 
-      int current =
-          switch (type) {
-            case "LESSONS_COMPLETED" ->
-                BeltRewardCalculator.calculateTotalLessons(
-                    ninja.getCurrentBeltType(), ninja.getCurrentLevel(), ninja.getCurrentLesson(), ninja.getBeltPath());
-            case "LEVELS_COMPLETED" ->
-                BeltRewardCalculator.calculateTotalLevels(
-                    ninja.getCurrentBeltType(), ninja.getCurrentLevel(), ninja.getBeltPath());
-            case "BELT_REACHED" -> {
-              String requiredBelt = criteria.get("belt").asText();
-              BeltType required = BeltType.valueOf(requiredBelt);
-              yield ninja.getCurrentBeltType().ordinal() >= required.ordinal() ? 100 : 0;
-            }
-            case "TOTAL_BUX_EARNED" -> ledgerService.getTotalBuxEarned(ninja.getId());
-            case "TOTAL_SPENT" -> ledgerService.getTotalBuxSpent(ninja.getId());
-            case "LEGACY_POINTS" -> getLegacyPointsValue(ninja);
-            default -> 0;
-          };
-
-      int progress = Math.min(100, (int) ((double) current / threshold * 100));
-      return Math.max(0, progress);
-    } catch (Exception e) {
-      logger.error(
-          "Error calculating progress percentage for achievement: " + achievement.getName(), e);
-      return 0;
+      int progressPercent = criteria.progressPercent(context);
+      if (existingProgress != null) {
+        if (existingProgress.getProgressValue() != progressPercent) {
+          progressRepository.updateProgressIfLocked(existingProgress.getId(), progressPercent, now);
+        }
+      } else if (progressPercent > 0 && !achievement.isHidden()) {
+        AchievementProgress progress = new AchievementProgress(ninja, achievement);
+        progress.setProgressValue(progressPercent);
+        created.add(progress);
+      }
     }
-  }
 
-  private boolean checkUnlockCriteria(Ninja ninja, Achievement achievement) {
-    if (achievement.getUnlockCriteria() == null || achievement.getUnlockCriteria().isEmpty()) {
-      return false;
+    // a row inserted concurrently for the same achievement fails the unique constraint here
+    // and the whole evaluation is retried by the caller
+    progressRepository.saveAll(created);
+    for (AchievementProgress progress : created) {
+      if (progress.isUnlocked()) {
+        newlyUnlocked.add(new AchievementProgressDTO(progress));
+      }
     }
-
-    try {
-      JsonNode criteria = objectMapper.readTree(achievement.getUnlockCriteria());
-      String type = criteria.get("type").asText();
-
-      return switch (type) {
-        case "LESSONS_COMPLETED" -> checkLessonsCompleted(ninja, criteria);
-        case "LEVELS_COMPLETED" -> checkLevelsCompleted(ninja, criteria);
-        case "BELT_REACHED" -> checkBeltReached(ninja, criteria);
-        case "TOTAL_BUX_EARNED" -> checkTotalBuxEarned(ninja, criteria);
-        case "PURCHASES_MADE" -> checkPurchasesMade(ninja, criteria);
-        case "TOTAL_SPENT" -> checkTotalSpent(ninja, criteria);
-        case "LEGACY_POINTS" -> checkLegacyPoints(ninja, criteria);
-        default -> {
-          logger.warn("Unknown achievement criteria type: {}", type);
-          yield false;
-        }
-      };
-    } catch (Exception e) {
-      logger.error("Error checking unlock criteria for achievement: " + achievement.getName(), e);
-      return false;
+    if (unlockedAchievements.isEmpty()) {
+      return new ArrayList<>();
+    }
+    ledgerService.recordAchievementRewards(ninja, unlockedAchievements);
+    statsService.recordUnlocks(
+        unlockedAchievements.stream().map(Achievement::getId).collect(Collectors.toList()));
+
+    for (AchievementProgressDTO progress : newlyUnlocked) {
+      logger.info(
+          "Achievement auto-unlocked: {} for ninja: {}",
+          progress.getAchievement().getName(),
+          ninja.getFirstName() + " " + ninja.getLastName());
     }
-  }
-
-  private boolean checkLessonsCompleted(Ninja ninja, JsonNode criteria) {
-    int threshold = criteria.get("threshold").asInt();
-    int completedLessons =
-        BeltRewardCalculator.calculateTotalLessons(
-            ninja.getCurrentBeltType(), ninja.getCurrentLevel(), ninja.getCurrentLesson(), ninja.getBeltPath());
-    return completedLessons >= threshold;
-  }
-
-  private boolean checkLevelsCompleted(Ninja ninja, JsonNode criteria) {
-    int threshold = criteria.get("threshold").asInt();
-    int completedLevels =
-        BeltRewardCalculator.calculateTotalLevels(
-            ninja.getCurrentBeltType(), ninja.getCurrentLevel(), ninja.getBeltPath());
-    return completedLevels >= threshold;
-  }
 
-  private boolean checkBeltReached(Ninja ninja, JsonNode criteria) {
-    String requiredBelt = criteria.get("belt").asText();
-    return ninja.getCurrentBeltType().name().equals(requiredBelt)
-        || ninja.getCurrentBeltType().ordinal() > BeltType.valueOf(requiredBelt).ordinal();
+    ninjaRepository.adjustUnseenAchievementCount(ninja.getId(), newlyUnlocked.size());
+    pushAfterCommit(newlyUnlocked);
+    return newlyUnlocked;
   }
 
-  private boolean checkTotalBuxEarned(Ninja ninja, JsonNode criteria) {
-    int threshold = criteria.get("threshold").asInt();
-    return ledgerService.getTotalBuxEarned(ninja.getId()) >= threshold;
+  // the row as unlockIfLocked left it. The managed entity is left alone: dirtying it would
+  // flush a full-row update over the conditional one
+  private AchievementProgressDTO unlockedView(AchievementProgress progress, LocalDateTime now) {
+    AchievementProgressDTO dto = new AchievementProgressDTO(progress);
+    dto.setUnlocked(true);
+    dto.setUnlockedAt(now);
+    dto.setProgressValue(100);
+    dto.setSeen(false);
+    dto.setManuallyAwarded(false);
+    dto.setAwardedBy(null);
+    dto.setUpdatedAt(now);
+    return dto;
   }
 
-  private boolean checkPurchasesMade(Ninja ninja, JsonNode criteria) {
-    logger.warn("Purchase count achievement criteria not yet fully implemented");
-    return false;
+  // each unlock goes to /topic/ninja/{id} with the full DTO once it's committed
+  private void pushAfterCommit(List<AchievementProgressDTO> unlocked) {
+    if (unlocked.isEmpty()) {
+      return;
+    }
+    Long ninjaId = unlocked.get(0).getNinjaId();
+    TransactionUtils.afterCommit(
+        () -> {
+          int unseenCount = ninjaRepository.findUnseenAchievementCount(ninjaId).orElse(0);
+          for (AchievementProgressDTO progress : unlocked) {
+            notificationService.notifyAchievementUnlocked(progress, unseenCount);
+          }
+        });
   }
 
-  private boolean checkTotalSpent(Ninja ninja, JsonNode criteria) {
-    int threshold = criteria.get("threshold").asInt();
-    return ledgerService.getTotalBuxSpent(ninja.getId()) >= threshold;
+  private Map<AchievementTrigger, List<Long>> getTriggerIndex() {
+    Map<AchievementTrigger, List<Long>> index = triggerIndex;
+    if (index != null) {
+      return index;
+    }
+    index = new EnumMap<>(AchievementTrigger.class);
+    for (Achievement achievement : achievementRepository.findByActiveTrueAndManualOnlyFalse()) {
+      AchievementCriteria criteria = criteriaCache.get(achievement);
+      if (criteria == null) {
+        continue;
+      }
+      for (AchievementTrigger trigger : criteria.getTriggers()) {
+        index.computeIfAbsent(trigger, t -> new ArrayList<>()).add(achievement.getId());
+      }
+    }
+    triggerIndex = index;
+    return index;
   }
 
-  private boolean checkLegacyPoints(Ninja ninja, JsonNode criteria) {
-    int threshold = criteria.get("threshold").asInt();
-    return getLegacyPointsValue(ninja) >= threshold;
+  private AchievementEvaluationContext newEvaluationContext(Ninja ninja) {
+    return new AchievementEvaluationContext(
+        ninja,
+        progressRepository.findByNinjaWithAchievement(ninja),
+        ledgerService,
+        legacyLedgerTxnRepository,
+        activityWindowService);
   }
 
-  private int getLegacyPointsValue(Ninja ninja) {
-    int legacyPoints = ninja.getLegacyPoints();
-    if (legacyPoints > 0) {
-      return legacyPoints;
-    }
-    return legacyLedgerTxnRepository.sumAmountByNinja(ninja);
+  private int calculateProgressPercentage(
+      AchievementEvaluationContext context, Achievement achievement) {
+    AchievementCriteria criteria = criteriaCache.get(achievement);
+    return criteria != null ? criteria.progressPercent(context) : 0;
   }
 
   private void updateAchievementFromDTO(Achievement achievement, AchievementDTO dto) {
+    // reject bad criteria up front instead of failing quietly on every check
+    AchievementCriteria.parse(dto.getUnlockCriteria());
+
     achievement.setName(dto.getName());
     achievement.setDescription(dto.getDescription());
     achievement.setCategory(dto.getCategory());
@@ -566,4 +644,15 @@ public class AchievementService {
     achievement.setActive(dto.isActive());
     achievement.setHidden(dto.isHidden());
   }
+
+  // drop the compiled criteria and trigger index now and again once the change is committed
+  private void invalidateCriteria(Long achievementId) {
+    criteriaCache.invalidate(achievementId);
+    triggerIndex = null;
+    TransactionUtils.afterCommit(
+        () -> {
+          criteriaCache.invalidate(achievementId);
+          triggerIndex = null;
+        });
+  }
 }
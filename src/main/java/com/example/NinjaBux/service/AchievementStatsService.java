@@ -0,0 +1,123 @@
+package com.example.NinjaBux.service;
+
+import com.example.NinjaBux.dto.AchievementDTO;
+import com.example.NinjaBux.dto.AchievementProgressDTO;
+import com.example.NinjaBux.repository.AchievementProgressRepository;
+import com.example.NinjaBux.repository.NinjaRepository;
+import com.example.NinjaBux.util.TransactionUtils;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+// how many ninjas hold each achievement, for "12% of ninjas have this". counters move on
+// unlock/revoke after commit and a periodic reconcile recounts from the table to fix any drift
+@Service
+public class AchievementStatsService {
+
+  private static final Logger logger = LoggerFactory.getLogger(AchievementStatsService.class);
+
+  @Autowired private AchievementProgressRepository progressRepository;
+
+  @Autowired private NinjaRepository ninjaRepository;
+
+  private final Map<Long, AtomicLong> unlockCounts = new ConcurrentHashMap<>();
+  private final AtomicLong population = new AtomicLong();
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void loadCounts() {
+    reconcile();
+  }
+
+  @Scheduled(
+      initialDelayString = "${ninjabux.achievements.stats-reconcile-ms:900000}",
+      fixedDelayString = "${ninjabux.achievements.stats-reconcile-ms:900000}")
+  public void reconcile() {
+    Map<Long, Long> actual = new HashMap<>();
+    for (Object[] row : progressRepository.countUnlockedGroupedByAchievement()) {
+      actual.put((Long) row[0], ((Number) row[1]).longValue());
+    }
+
+    int drifted = 0;
+    for (Map.Entry<Long, Long> entry : actual.entrySet()) {
+      AtomicLong counter = unlockCounts.computeIfAbsent(entry.getKey(), id -> new AtomicLong());
+      if (counter.getAndSet(entry.getValue()) != entry.getValue()) {
+        drifted++;
+      }
+    }
+    unlockCounts.keySet().retainAll(actual.keySet());
+    population.set(ninjaRepository.count());
+
+    if (drifted > 0) {
+      logger.info("Reconciled unlock counts, {} achievements were off", drifted);
+    }
+  }
+
+  public void recordUnlocks(Collection<Long> achievementIds) {
+    if (achievementIds.isEmpty()) {
+      return;
+    }
+    TransactionUtils.afterCommit(
+        () -> achievementIds.forEach(id -> counterFor(id).incrementAndGet()));
+  }
+
+  public void recordRevoke(Long achievementId) {
+    TransactionUtils.afterCommit(
+        () -> counterFor(achievementId).updateAndGet(count -> Math.max(0, count - 1)));
+  }
+
+  public void recordNinjaCreated() {
+    TransactionUtils.afterCommit(population::incrementAndGet);
+  }
+
+  // a deleted ninja takes their unlocks with them, simplest to just recount
+  public void recordNinjaDeleted() {
+    TransactionUtils.afterCommit(this::reconcile);
+  }
+
+  public long getUnlockCount(Long achievementId) {
+    AtomicLong counter = unlockCounts.get(achievementId);
+    return counter != null ? counter.get() : 0;
+  }
+
+  public long getPopulation() {
+    return population.get();
+  }
+
+  // percent of all ninjas, one decimal place
+  public double getUnlockRate(Long achievementId) {
+    long total = population.get();
+    if (total <= 0) {
+      return 0.0;
+    }
+    double rate = Math.min(100.0, getUnlockCount(achievementId) * 100.0 / total);
+    return Math.round(rate * 10) / 10.0;
+  }
+
+  public AchievementDTO apply(AchievementDTO dto) {
+    if (dto != null && dto.getId() != null) {
+      dto.setUnlockCount(getUnlockCount(dto.getId()));
+      dto.setUnlockRate(getUnlockRate(dto.getId()));
+    }
+    return dto;
+  }
+
+  public AchievementProgressDTO apply(AchievementProgressDTO dto) {
+    if (dto != null) {
+      apply(dto.getAchievement());
+    }
+    return dto;
+  }
+
+  private AtomicLong counterFor(Long achievementId) {
+    return unlockCounts.computeIfAbsent(achievementId, id -> new AtomicLong());
+  }
+}
@@ -0,0 +1,226 @@
+package com.example.NinjaBux.service;
+
+import com.example.NinjaBux.domain.LedgerTxn;
+import com.example.NinjaBux.domain.enums.BeltPath;
+import com.example.NinjaBux.domain.enums.BeltType;
+import com.example.NinjaBux.repository.LedgerTxnRepository;
+import com.example.NinjaBux.repository.ProgressHistoryRepository;
+import com.example.NinjaBux.repository.PurchaseRepository;
+import com.example.NinjaBux.util.TransactionUtils;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+// per-ninja day-bucketed counters behind windowed achievement criteria ("5 lessons in 7 days"),
+// plus the lifetime purchase count. kept in memory, updated after commit, rebuilt from
+// ProgressHistory, Purchase and LedgerTxn on startup. days are dojo days (see DojoClock).
+// bux earned counts every positive ledger row, the same as the lifetime TOTAL_BUX_EARNED
+@Service
+public class ActivityWindowService {
+
+  public static final int MAX_WINDOW_DAYS = 366;
+
+  private static final Logger logger = LoggerFactory.getLogger(ActivityWindowService.class);
+
+  private static final int LESSONS = 0;
+  private static final int LEVELS = 1;
+  private static final int BUX_EARNED = 2;
+  private static final int PURCHASES = 3;
+  private static final int SPENT = 4;
+
+  @Autowired private ProgressHistoryRepository progressHistoryRepository;
+
+  @Autowired private PurchaseRepository purchaseRepository;
+
+  @Autowired private LedgerTxnRepository ledgerTxnRepository;
+
+  @Autowired private DojoClock dojoClock;
+
+  private volatile Map<Long, NinjaCounters> counters = new ConcurrentHashMap<>();
+
+  // updates hold the read side, rebuild holds the write side, so nothing applied while the
+  // new map is being built can land in the old one and get dropped at the swap
+  private final ReentrantReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void rebuild() {
+    rebuildLock.writeLock().lock();
+    try {
+      counters = load();
+    } finally {
+      rebuildLock.writeLock().unlock();
+    }
+    logger.info("Rebuilt activity windows for {} ninjas", counters.size());
+  }
+
+  private Map<Long, NinjaCounters> load() {
+    LocalDateTime since = dojoClock.startOf(dojoClock.today().minusDays(MAX_WINDOW_DAYS));
+    Map<Long, NinjaCounters> rebuilt = new ConcurrentHashMap<>();
+
+    // rows come back per ninja in time order, so lesson/level deltas are taken against the
+    // previous row. the first row in range has nothing to compare to and counts as one lesson
+    Map<Long, int[]> lastTotals = new HashMap<>();
+    for (Object[] row : progressHistoryRepository.findProgressForWindowsSince(since)) {
+      Long ninjaId = (Long) row[0];
+      LocalDate day = dojoClock.dateOf((LocalDateTime) row[1]);
+      BeltType belt = (BeltType) row[2];
+      int level = ((Number) row[3]).intValue();
+      int lesson = ((Number) row[4]).intValue();
+      BeltPath path = row[5] != null ? (BeltPath) row[5] : BeltPath.UNITY;
+
+      NinjaCounters ninja = rebuilt.computeIfAbsent(ninjaId, id -> new NinjaCounters());
+      int[] totals = {
+        BeltRewardCalculator.calculateTotalLessons(belt, level, lesson, path),
+        BeltRewardCalculator.calculateTotalLevels(belt, level, path)
+      };
+      int[] previous = lastTotals.put(ninjaId, totals);
+      ninja.add(day, LESSONS, previous != null ? Math.max(0, totals[0] - previous[0]) : 1);
+      ninja.add(day, LEVELS, previous != null ? Math.max(0, totals[1] - previous[1]) : 0);
+    }
+
+    // ledger and purchase totals come back per server hour; each hour is placed on the dojo
+    // day it starts in
+    for (Object[] row : ledgerTxnRepository.sumEarnedByHourSince(since)) {
+      NinjaCounters ninja = rebuilt.computeIfAbsent((Long) row[0], id -> new NinjaCounters());
+      int hour = ((Number) row[2]).intValue();
+      LocalDate day = dojoClock.dateOf(((LocalDate) row[1]).atTime(hour, 0));
+      ninja.add(day, BUX_EARNED, ((Number) row[3]).intValue());
+    }
+
+    for (Object[] row : purchaseRepository.findActivePurchaseTotalsSince(since)) {
+      NinjaCounters ninja = rebuilt.computeIfAbsent((Long) row[0], id -> new NinjaCounters());
+      int hour = ((Number) row[2]).intValue();
+      LocalDate day = dojoClock.dateOf(((LocalDate) row[1]).atTime(hour, 0));
+      ninja.add(day, PURCHASES, ((Number) row[3]).intValue());
+      ninja.add(day, SPENT, ((Number) row[4]).intValue());
+    }
+
+    for (Object[] row : purchaseRepository.countActivePurchasesByNinja()) {
+      rebuilt.computeIfAbsent((Long) row[0], id -> new NinjaCounters()).lifetimePurchases =
+          ((Number) row[1]).intValue();
+    }
+
+    return rebuilt;
+  }
+
+  public void recordProgress(Long ninjaId, int lessons, int levels, LocalDateTime when) {
+    afterCommit(
+        () -> {
+          NinjaCounters ninja = countersFor(ninjaId);
+          LocalDate day = dojoClock.dateOf(when);
+          ninja.add(day, LESSONS, Math.max(0, lessons));
+          ninja.add(day, LEVELS, Math.max(0, levels));
+        });
+  }
+
+  // called by LedgerService for every ledger row it saves
+  public void recordLedger(LedgerTxn txn) {
+    if (txn.getAmount() <= 0 || txn.getNinja() == null || txn.getCreatedAt() == null) {
+      return;
+    }
+    Long ninjaId = txn.getNinja().getId();
+    int amount = txn.getAmount();
+    LocalDate day = dojoClock.dateOf(txn.getCreatedAt());
+    afterCommit(() -> countersFor(ninjaId).add(day, BUX_EARNED, amount));
+  }
+
+  public void recordPurchase(Long ninjaId, int price, LocalDateTime when) {
+    afterCommit(() -> countersFor(ninjaId).purchase(dojoClock.dateOf(when), price, 1));
+  }
+
+  // a refund takes the purchase back out of the day it was made
+  public void recordRefund(Long ninjaId, int price, LocalDateTime purchasedAt) {
+    afterCommit(() -> countersFor(ninjaId).purchase(dojoClock.dateOf(purchasedAt), -price, -1));
+  }
+
+  private void afterCommit(Runnable update) {
+    TransactionUtils.afterCommit(
+        () -> {
+          rebuildLock.readLock().lock();
+          try {
+            update.run();
+          } finally {
+            rebuildLock.readLock().unlock();
+          }
+        });
+  }
+
+  public int lifetimePurchases(Long ninjaId) {
+    NinjaCounters ninja = counters.get(ninjaId);
+    return ninja != null ? ninja.lifetimePurchases() : 0;
+  }
+
+  // total for the last `days` days including today, 0 for criteria types without a counter
+  public int windowTotal(Long ninjaId, AchievementCriteria.Type type, int days) {
+    int index = indexOf(type);
+    NinjaCounters ninja = counters.get(ninjaId);
+    if (index < 0 || ninja == null) {
+      return 0;
+    }
+    return ninja.sum(index, dojoClock.today().minusDays(Math.min(days, MAX_WINDOW_DAYS) - 1L));
+  }
+
+  public static boolean supportsWindow(AchievementCriteria.Type type) {
+    return indexOf(type) >= 0;
+  }
+
+  private static int indexOf(AchievementCriteria.Type type) {
+    return switch (type) {
+      case LESSONS_COMPLETED -> LESSONS;
+      case LEVELS_COMPLETED -> LEVELS;
+      case TOTAL_BUX_EARNED -> BUX_EARNED;
+      case PURCHASES_MADE -> PURCHASES;
+      case TOTAL_SPENT -> SPENT;
+      case BELT_REACHED, LEGACY_POINTS -> -1;
+    };
+  }
+
+  private NinjaCounters countersFor(Long ninjaId) {
+    return counters.computeIfAbsent(ninjaId, id -> new NinjaCounters());
+  }
+
+  private class NinjaCounters {
+    private final TreeMap<LocalDate, int[]> days = new TreeMap<>();
+    private int lifetimePurchases;
+
+    synchronized void add(LocalDate day, int index, int amount) {
+      if (amount == 0) {
+        return;
+      }
+      LocalDate oldest = dojoClock.today().minusDays(MAX_WINDOW_DAYS);
+      if (day.isBefore(oldest)) {
+        return;
+      }
+      days.computeIfAbsent(day, d -> new int[5])[index] += amount;
+      days.headMap(oldest).clear();
+    }
+
+    synchronized void purchase(LocalDate day, int price, int count) {
+      lifetimePurchases = Math.max(0, lifetimePurchases + count);
+      add(day, PURCHASES, count);
+      add(day, SPENT, price);
+    }
+
+    synchronized int lifetimePurchases() {
+      return lifetimePurchases;
+    }
+
+    synchronized int sum(int index, LocalDate from) {
+      int total = 0;
+      for (int[] bucket : days.tailMap(from, true).values()) {
+        total += bucket[index];
+      }
+      return Math.max(0, total);
+    }
+  }
+}
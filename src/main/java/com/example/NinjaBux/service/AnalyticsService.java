@@ -1,8 +1,11 @@
 package com.example.NinjaBux.service;
 
 import com.example.NinjaBux.domain.*;
+import com.example.NinjaBux.domain.enums.ActivityMetric;
+import com.example.NinjaBux.domain.enums.BeltPath;
 import com.example.NinjaBux.domain.enums.BeltType;
 import com.example.NinjaBux.dto.AnalyticsResponse;
+import com.example.NinjaBux.dto.BalanceDistributionResponse;
 import com.example.NinjaBux.repository.*;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
@@ -19,6 +22,8 @@ public class AnalyticsService {
 
   private static final Logger logger = LoggerFactory.getLogger(AnalyticsService.class);
 
+  private static final List<Integer> DEFAULT_BALANCE_EDGES = List.of(0, 50, 200, 500);
+
   @Autowired private NinjaRepository ninjaRepository;
 
   @Autowired private ProgressHistoryRepository progressHistoryRepository;
@@ -27,11 +32,15 @@ public class AnalyticsService {
 
   @Autowired private ShopItemRepository shopItemRepository;
 
+  @Autowired private LedgerTxnRepository ledgerTxnRepository;
+
   @Autowired(required = false)
   private AchievementProgressRepository achievementProgressRepository;
 
   @Autowired private LedgerService ledgerService;
 
+  @Autowired private UniqueActivityService uniqueActivityService;
+
 
   public AnalyticsResponse getAnalytics() {
     AnalyticsResponse response = new AnalyticsResponse();
@@ -156,18 +165,21 @@ public class AnalyticsService {
   private AnalyticsResponse.EconomyHealthMetrics calculateEconomyHealth() {
     AnalyticsResponse.EconomyHealthMetrics metrics = new AnalyticsResponse.EconomyHealthMetrics();
 
-    List<Ninja> allNinjas = ninjaRepository.findAll();
-    Map<Long, Integer> balances = ledgerService.getBuxBalances(allNinjas);
+    List<Object[]> balanceRows = ledgerTxnRepository.findBalancesWithBelt();
 
-    int totalBuxInCirculation = balances.values().stream().mapToInt(Integer::intValue).sum();
     int totalBuxEarned = ledgerService.getTotalEarnedGlobal();
     int totalBuxSpent = ledgerService.getTotalSpentGlobal();
 
     double spendEarnRatio = totalBuxEarned > 0 ? (double) totalBuxSpent / totalBuxEarned : 0.0;
 
+    int totalBuxInCirculation = 0;
     AnalyticsResponse.BalanceDistribution distribution =
         new AnalyticsResponse.BalanceDistribution();
-    for (int balance : balances.values()) {
+    Map<String, int[]> beltTotals = new HashMap<>(); // belt -> {sum, count}
+    for (Object[] row : balanceRows) {
+      int balance = ((Number) row[2]).intValue();
+      totalBuxInCirculation += balance;
+
       if (balance == 0) {
         distribution.setZeroBalance(distribution.getZeroBalance() + 1);
       } else if (balance <= 50) {
@@ -179,19 +191,16 @@ public class AnalyticsService {
       } else {
         distribution.setVeryHighBalance(distribution.getVeryHighBalance() + 1);
       }
-    }
 
-    Map<String, Integer> balanceByBelt = new HashMap<>();
-    Map<String, List<Integer>> balancesByBelt = new HashMap<>();
-    for (Ninja ninja : allNinjas) {
-      String belt = ninja.getCurrentBeltType().toString();
-      int balance = balances.getOrDefault(ninja.getId(), 0);
-      balancesByBelt.computeIfAbsent(belt, k -> new ArrayList<>()).add(balance);
+      int[] totals = beltTotals.computeIfAbsent(String.valueOf(row[0]), k -> new int[2]);
+      totals[0] += balance;
+      totals[1]++;
     }
 
-    for (Map.Entry<String, List<Integer>> entry : balancesByBelt.entrySet()) {
-      double average = entry.getValue().stream().mapToInt(Integer::intValue).average().orElse(0.0);
-      balanceByBelt.put(entry.getKey(), (int) average);
+    Map<String, Integer> balanceByBelt = new HashMap<>();
+    for (Map.Entry<String, int[]> entry : beltTotals.entrySet()) {
+      int[] totals = entry.getValue();
+      balanceByBelt.put(entry.getKey(), totals[1] > 0 ? totals[0] / totals[1] : 0);
     }
 
     metrics.setTotalBuxInCirculation(totalBuxInCirculation);
@@ -204,12 +213,84 @@ public class AnalyticsService {
     return metrics;
   }
 
+  public BalanceDistributionResponse getBalanceDistribution(List<Integer> bucketEdges) {
+    List<Integer> edges =
+        bucketEdges == null || bucketEdges.isEmpty()
+            ? DEFAULT_BALANCE_EDGES
+            : bucketEdges.stream().distinct().sorted().collect(Collectors.toList());
+
+    List<Integer> overall = new ArrayList<>();
+    Map<String, List<Integer>> byBelt = new TreeMap<>();
+    Map<String, List<Integer>> byPath = new TreeMap<>();
+    for (Object[] row : ledgerTxnRepository.findBalancesWithBelt()) {
+      int balance = ((Number) row[2]).intValue();
+      BeltPath path = row[1] != null ? (BeltPath) row[1] : BeltPath.UNITY;
+      overall.add(balance);
+      byBelt.computeIfAbsent(String.valueOf(row[0]), k -> new ArrayList<>()).add(balance);
+      byPath.computeIfAbsent(path.name(), k -> new ArrayList<>()).add(balance);
+    }
+
+    BalanceDistributionResponse response = new BalanceDistributionResponse();
+    response.setEdges(edges);
+    response.setOverall(summarizeBalances(overall, edges));
+    Map<String, BalanceDistributionResponse.BalanceStats> beltStats = new LinkedHashMap<>();
+    byBelt.forEach((belt, balances) -> beltStats.put(belt, summarizeBalances(balances, edges)));
+    response.setByBelt(beltStats);
+    Map<String, BalanceDistributionResponse.BalanceStats> pathStats = new LinkedHashMap<>();
+    byPath.forEach((path, balances) -> pathStats.put(path, summarizeBalances(balances, edges)));
+    response.setByPath(pathStats);
+    return response;
+  }
+
+  private BalanceDistributionResponse.BalanceStats summarizeBalances(
+      List<Integer> balances, List<Integer> edges) {
+    int[] sorted = balances.stream().mapToInt(Integer::intValue).sorted().toArray();
+
+    BalanceDistributionResponse.BalanceStats stats = new BalanceDistributionResponse.BalanceStats();
+    stats.setCount(sorted.length);
+
+    // buckets are (previous edge, edge], plus one open bucket above the last edge
+    int[] counts = new int[edges.size() + 1];
+    for (int balance : sorted) {
+      int bucket = 0;
+      while (bucket < edges.size() && balance > edges.get(bucket)) {
+        bucket++;
+      }
+      counts[bucket]++;
+    }
+    List<BalanceDistributionResponse.BalanceBucket> buckets = new ArrayList<>();
+    for (int i = 0; i < counts.length; i++) {
+      Integer lower = i == 0 ? null : edges.get(i - 1);
+      Integer upper = i < edges.size() ? edges.get(i) : null;
+      buckets.add(new BalanceDistributionResponse.BalanceBucket(lower, upper, counts[i]));
+    }
+    stats.setBuckets(buckets);
+
+    if (sorted.length == 0) {
+      return stats;
+    }
+    stats.setMin(sorted[0]);
+    stats.setMax(sorted[sorted.length - 1]);
+    stats.setAverage(Arrays.stream(sorted).average().orElse(0.0));
+    stats.setP50(percentile(sorted, 50));
+    stats.setP90(percentile(sorted, 90));
+    stats.setP99(percentile(sorted, 99));
+    return stats;
+  }
+
+  // nearest-rank percentile over an ascending array
+  private int percentile(int[] sorted, int percentile) {
+    int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+    return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+  }
+
   private AnalyticsResponse.EngagementMetrics calculateEngagement() {
     AnalyticsResponse.EngagementMetrics metrics = new AnalyticsResponse.EngagementMetrics();
 
     metrics.setShopMetrics(calculateShopMetrics());
     metrics.setLeaderboardMetrics(calculateLeaderboardMetrics());
     metrics.setAchievementMetrics(calculateAchievementMetrics());
+    metrics.setActiveNinjaMetrics(calculateActiveNinjaMetrics());
 
     return metrics;
   }
@@ -243,12 +324,7 @@ public class AnalyticsService {
             : 0.0;
 
     int uniqueShoppersThisWeek =
-        (int)
-            allPurchases.stream()
-                .filter(p -> p.getPurchaseDate().isAfter(weekAgo))
-                .map(p -> p.getNinja().getId())
-                .distinct()
-                .count();
+        (int) uniqueActivityService.countUniqueLastDays(ActivityMetric.SHOPPER, 7);
 
     metrics.setTotalPurchases(totalPurchases);
     metrics.setTotalPurchasesThisWeek(totalPurchasesThisWeek);
@@ -259,6 +335,20 @@ public class AnalyticsService {
     return metrics;
   }
 
+  private AnalyticsResponse.ActiveNinjaMetrics calculateActiveNinjaMetrics() {
+    AnalyticsResponse.ActiveNinjaMetrics metrics = new AnalyticsResponse.ActiveNinjaMetrics();
+    metrics.setLoginsToday(uniqueActivityService.countUniqueLastDays(ActivityMetric.LOGIN, 1));
+    metrics.setLoginsThisWeek(uniqueActivityService.countUniqueLastDays(ActivityMetric.LOGIN, 7));
+    metrics.setProgressorsToday(
+        uniqueActivityService.countUniqueLastDays(ActivityMetric.PROGRESSOR, 1));
+    metrics.setProgressorsThisWeek(
+        uniqueActivityService.countUniqueLastDays(ActivityMetric.PROGRESSOR, 7));
+    metrics.setShoppersToday(uniqueActivityService.countUniqueLastDays(ActivityMetric.SHOPPER, 1));
+    metrics.setShoppersThisWeek(
+        uniqueActivityService.countUniqueLastDays(ActivityMetric.SHOPPER, 7));
+    return metrics;
+  }
+
   private AnalyticsResponse.LeaderboardMetrics calculateLeaderboardMetrics() {
     AnalyticsResponse.LeaderboardMetrics metrics = new AnalyticsResponse.LeaderboardMetrics();
     metrics.setTotalViews(0);
@@ -0,0 +1,105 @@
+package com.example.NinjaBux.service;
+
+import com.example.NinjaBux.dto.CohortRetentionResponse;
+import com.example.NinjaBux.repository.NinjaRepository;
+import com.example.NinjaBux.repository.ProgressHistoryRepository;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+// weekly onboarding cohorts x weeks since onboarding, from one ordered pass over progress history
+@Service
+public class CohortAnalyticsService {
+
+  public static final int MAX_WEEKS = 52;
+
+  @Autowired private NinjaRepository ninjaRepository;
+
+  @Autowired private ProgressHistoryRepository progressHistoryRepository;
+
+  // weeks -> result, recomputed at most once a day
+  private final Map<Integer, CohortRetentionResponse> cache = new ConcurrentHashMap<>();
+
+  @Transactional(readOnly = true)
+  public CohortRetentionResponse getCohortRetention(int weeks) {
+    int window = Math.max(1, Math.min(weeks, MAX_WEEKS));
+    LocalDate today = LocalDate.now();
+    CohortRetentionResponse cached = cache.get(window);
+    if (cached != null && cached.getGeneratedOn().equals(today)) {
+      return cached;
+    }
+    CohortRetentionResponse computed = computeCohorts(window, today);
+    cache.put(window, computed);
+    return computed;
+  }
+
+  // weeks is the furthest offset tracked, so the oldest cohort is weeks + 1 calendar weeks back
+  private CohortRetentionResponse computeCohorts(int weeks, LocalDate today) {
+    int span = weeks + 1;
+    LocalDate currentWeek = weekStart(today);
+    LocalDate firstWeek = currentWeek.minusWeeks(weeks);
+    LocalDateTime since = firstWeek.atStartOfDay();
+
+    // createdAt can land past the current week (a ninja added while this runs across midnight
+    // on Sunday, or a skewed clock), so anything outside the tracked weeks is skipped
+    int[] sizes = new int[span];
+    for (LocalDateTime createdAt : ninjaRepository.findCreatedAtSince(since)) {
+      int cohort = weeksBetween(firstWeek, weekStart(createdAt.toLocalDate()));
+      if (cohort >= 0 && cohort < span) {
+        sizes[cohort]++;
+      }
+    }
+
+    // active[cohort][offset]
+    int[][] active = new int[span][span];
+    try (Stream<Object[]> rows = progressHistoryRepository.streamCohortProgressSince(since)) {
+      Long currentNinja = null;
+      int lastOffset = -1;
+      for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+        Long ninjaId = (Long) row[0];
+        LocalDate cohortWeek = weekStart(((LocalDateTime) row[1]).toLocalDate());
+        LocalDate activityWeek = weekStart(((LocalDateTime) row[2]).toLocalDate());
+        if (!ninjaId.equals(currentNinja)) {
+          currentNinja = ninjaId;
+          lastOffset = -1;
+        }
+        int cohort = weeksBetween(firstWeek, cohortWeek);
+        int offset = weeksBetween(cohortWeek, activityWeek);
+        // rows are time ordered per ninja, so a repeat week is always the previous one
+        if (cohort < 0 || cohort >= span || offset < 0 || offset >= span || offset == lastOffset) {
+          continue;
+        }
+        lastOffset = offset;
+        active[cohort][offset]++;
+      }
+    }
+
+    List<CohortRetentionResponse.Cohort> cohorts = new ArrayList<>();
+    for (int i = 0; i < span; i++) {
+      // later cohorts haven't had time to reach the higher offsets yet
+      int observedWeeks = span - i;
+      int[] observed = new int[observedWeeks];
+      System.arraycopy(active[i], 0, observed, 0, observedWeeks);
+      cohorts.add(new CohortRetentionResponse.Cohort(firstWeek.plusWeeks(i), sizes[i], observed));
+    }
+    return new CohortRetentionResponse(today, weeks, cohorts);
+  }
+
+  private LocalDate weekStart(LocalDate date) {
+    return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+  }
+
+  private int weeksBetween(LocalDate fromWeek, LocalDate toWeek) {
+    return (int) ChronoUnit.WEEKS.between(fromWeek, toWeek);
+  }
+}
@@ -0,0 +1,89 @@
+package com.example.NinjaBux.service;
+
+import com.example.NinjaBux.repository.PurchaseRepository;
+import com.example.NinjaBux.util.TransactionUtils;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+// purchases per (ninja, item) for the current dojo day, so maxPerDay checks never hit the DB.
+// rebuilt from today's purchases on startup and started fresh when the dojo day rolls over
+@Service
+public class DailyPurchaseCounter {
+
+  private static final Logger logger = LoggerFactory.getLogger(DailyPurchaseCounter.class);
+
+  @Autowired private PurchaseRepository purchaseRepository;
+
+  @Autowired private DojoClock dojoClock;
+
+  private volatile Counts current;
+
+  @EventListener(ApplicationReadyEvent.class)
+  public synchronized void rebuild() {
+    LocalDate today = dojoClock.today();
+    Counts rebuilt = new Counts(today);
+    for (Object[] row : purchaseRepository.countByNinjaAndItemSince(dojoClock.startOf(today))) {
+      rebuilt.counts.put(
+          new Key((Long) row[0], (Long) row[1]),
+          new AtomicInteger(((Number) row[2]).intValue()));
+    }
+    current = rebuilt;
+    logger.info("Loaded {} daily purchase counters for {}", rebuilt.counts.size(), today);
+  }
+
+  public int countToday(Long ninjaId, Long itemId) {
+    AtomicInteger count = today().counts.get(new Key(ninjaId, itemId));
+    return count != null ? count.get() : 0;
+  }
+
+  // counted once the purchase commits, and only if it still belongs to the current day
+  public void record(Long ninjaId, Long itemId, LocalDateTime when, int quantity) {
+    LocalDate day = dojoClock.dateOf(when);
+    TransactionUtils.afterCommit(
+        () -> {
+          Counts counts = today();
+          if (counts.day.equals(day)) {
+            counts.counts.computeIfAbsent(new Key(ninjaId, itemId), k -> new AtomicInteger())
+                .addAndGet(quantity);
+          }
+        });
+  }
+
+  private Counts today() {
+    Counts counts = current;
+    if (counts == null) {
+      rebuild();
+      return current;
+    }
+    LocalDate today = dojoClock.today();
+    if (!counts.day.equals(today)) {
+      synchronized (this) {
+        if (!current.day.equals(today)) {
+          current = new Counts(today);
+        }
+        counts = current;
+      }
+    }
+    return counts;
+  }
+
+  private record Key(Long ninjaId, Long itemId) {}
+
+  private static class Counts {
+    private final LocalDate day;
+    private final Map<Key, AtomicInteger> counts = new ConcurrentHashMap<>();
+
+    Counts(LocalDate day) {
+      this.day = day;
+    }
+  }
+}
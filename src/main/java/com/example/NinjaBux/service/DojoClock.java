@@ -0,0 +1,52 @@
+package com.example.NinjaBux.service;
+
+import jakarta.annotation.PostConstruct;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// "today" as the dojo sees it. timestamps are stored as server-local LocalDateTime, so day
+// boundaries are worked out in ninjabux.dojo.timezone and converted back to server time
+@Component
+public class DojoClock {
+
+  private static final Logger logger = LoggerFactory.getLogger(DojoClock.class);
+
+  @Value("${ninjabux.dojo.timezone:}")
+  private String timezone;
+
+  private final ZoneId serverZone = ZoneId.systemDefault();
+  private ZoneId dojoZone;
+
+  @PostConstruct
+  public void init() {
+    dojoZone = timezone == null || timezone.isBlank() ? serverZone : ZoneId.of(timezone);
+    logger.info("Dojo day boundaries use {} (server runs in {})", dojoZone, serverZone);
+  }
+
+  public ZoneId getZone() {
+    return dojoZone;
+  }
+
+  public LocalDate today() {
+    return LocalDate.now(dojoZone);
+  }
+
+  // the dojo day a stored timestamp falls on
+  public LocalDate dateOf(LocalDateTime serverTime) {
+    return serverTime.atZone(serverZone).withZoneSameInstant(dojoZone).toLocalDate();
+  }
+
+  // server-local timestamp at which the given dojo day starts, for querying stored rows
+  public LocalDateTime startOf(LocalDate dojoDay) {
+    return dojoDay.atStartOfDay(dojoZone).withZoneSameInstant(serverZone).toLocalDateTime();
+  }
+
+  public LocalDateTime startOfToday() {
+    return startOf(today());
+  }
+}
@@ -0,0 +1,202 @@
+package com.example.NinjaBux.service;
+
+import com.example.NinjaBux.domain.IdempotencyRecord;
+import com.example.NinjaBux.exception.IdempotencyKeyInUseException;
+import com.example.NinjaBux.exception.IdempotencyKeyReusedException;
+import com.example.NinjaBux.exception.InvalidIdempotencyKeyException;
+import com.example.NinjaBux.repository.IdempotencyRecordRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+// dedupes retried mutating requests that carry an Idempotency-Key header. Successful responses
+// are kept in a bounded LRU backed by the idempotency_record table, so a retry gets the original
+// response back (from memory in the common case) instead of charging or awarding twice
+@Service
+public class IdempotencyService {
+
+  public static final String HEADER = "Idempotency-Key";
+  public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+  private static final Logger logger = LoggerFactory.getLogger(IdempotencyService.class);
+
+  @Autowired private IdempotencyRecordRepository recordRepository;
+
+  @Autowired private ObjectMapper objectMapper;
+
+  @Value("${ninjabux.idempotency.ttl-hours:24}")
+  private int ttlHours;
+
+  @Value("${ninjabux.idempotency.cache-size:5000}")
+  private int cacheSize;
+
+  private final Map<String, StoredResponse> cache =
+      new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, StoredResponse> eldest) {
+          return size() > cacheSize;
+        }
+      };
+
+  private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+  // scope keeps the same key on two different endpoints (or two ninjas) from colliding, and
+  // request is hashed so the same key sent with a different payload is refused with a 422.
+  // Only 2xx responses are remembered; errors are left out so the client can retry them
+  public <T> ResponseEntity<T> execute(
+      String key,
+      String scope,
+      Object request,
+      Class<T> bodyType,
+      Supplier<ResponseEntity<T>> action) {
+    if (key == null || key.isBlank()) {
+      return action.get();
+    }
+    if (key.length() > 100) {
+      throw new InvalidIdempotencyKeyException("Idempotency-Key must be at most 100 characters");
+    }
+
+    String cacheKey = scope + '\n' + key;
+    String requestHash = hash(request);
+    Optional<ResponseEntity<T>> replay = lookup(cacheKey, scope, key, requestHash, bodyType);
+    if (replay.isPresent()) {
+      return replay.get();
+    }
+
+    if (!inFlight.add(cacheKey)) {
+      throw new IdempotencyKeyInUseException(key);
+    }
+    try {
+      // a duplicate may have finished between the lookup and claiming the key
+      replay = lookup(cacheKey, scope, key, requestHash, bodyType);
+      if (replay.isPresent()) {
+        return replay.get();
+      }
+
+      ResponseEntity<T> response = action.get();
+      if (response.getStatusCode().is2xxSuccessful()) {
+        remember(cacheKey, scope, key, requestHash, response);
+      }
+      return response;
+    } finally {
+      inFlight.remove(cacheKey);
+    }
+  }
+
+  @Scheduled(cron = "${ninjabux.idempotency.cleanup-cron:0 50 3 * * *}")
+  @Transactional
+  public void purgeExpired() {
+    LocalDateTime now = LocalDateTime.now();
+    synchronized (cache) {
+      cache.values().removeIf(stored -> stored.expiresAt().isBefore(now));
+    }
+    int deleted = recordRepository.deleteExpired(now);
+    if (deleted > 0) {
+      logger.info("Purged {} expired idempotency records", deleted);
+    }
+  }
+
+  private <T> Optional<ResponseEntity<T>> lookup(
+      String cacheKey, String scope, String key, String requestHash, Class<T> bodyType) {
+    StoredResponse stored;
+    synchronized (cache) {
+      stored = cache.get(cacheKey);
+    }
+
+    if (stored == null) {
+      IdempotencyRecord record =
+          recordRepository.findByScopeAndIdempotencyKey(scope, key).orElse(null);
+      if (record == null) {
+        return Optional.empty();
+      }
+      stored =
+          new StoredResponse(
+              record.getRequestHash(),
+              record.getResponseStatus(),
+              readBody(record.getResponseBody(), bodyType),
+              record.getExpiresAt());
+      synchronized (cache) {
+        cache.put(cacheKey, stored);
+      }
+    }
+
+    if (stored.expiresAt().isBefore(LocalDateTime.now())) {
+      return Optional.empty();
+    }
+    // records written before hashing was added have no hash and are replayed as before
+    if (stored.requestHash() != null && !stored.requestHash().equals(requestHash)) {
+      throw new IdempotencyKeyReusedException(key);
+    }
+    return Optional.of(
+        ResponseEntity.status(stored.status())
+            .header(REPLAYED_HEADER, "true")
+            .body(bodyType.cast(stored.body())));
+  }
+
+  private void remember(
+      String cacheKey, String scope, String key, String requestHash, ResponseEntity<?> response) {
+    LocalDateTime expiresAt = LocalDateTime.now().plusHours(ttlHours);
+    int status = response.getStatusCode().value();
+    Object body = response.getBody();
+
+    synchronized (cache) {
+      cache.put(cacheKey, new StoredResponse(requestHash, status, body, expiresAt));
+    }
+
+    // the operation has already committed, so a failure here only costs the dedupe for restarts
+    try {
+      recordRepository.findByScopeAndIdempotencyKey(scope, key).ifPresent(recordRepository::delete);
+      recordRepository.save(
+          new IdempotencyRecord(scope, key, requestHash, status, writeBody(body), expiresAt));
+    } catch (DataIntegrityViolationException e) {
+      logger.warn("Idempotency record for {} was stored concurrently", key);
+    } catch (Exception e) {
+      logger.error("Error saving idempotency record for {}: {}", key, e.getMessage(), e);
+    }
+  }
+
+  private String hash(Object request) {
+    try {
+      byte[] payload = objectMapper.writeValueAsBytes(request);
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(payload));
+    } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+      throw new IllegalStateException("Idempotent request could not be hashed", e);
+    }
+  }
+
+  private String writeBody(Object body) throws JsonProcessingException {
+    return body == null ? null : objectMapper.writeValueAsString(body);
+  }
+
+  private Object readBody(String json, Class<?> bodyType) {
+    if (json == null || bodyType == Void.class) {
+      return null;
+    }
+    try {
+      return objectMapper.readValue(json, bodyType);
+    } catch (JsonProcessingException e) {
+      throw new IllegalStateException("Stored idempotent response could not be read", e);
+    }
+  }
+
+  private record StoredResponse(
+      String requestHash, int status, Object body, LocalDateTime expiresAt) {}
+}
@@ -0,0 +1,209 @@
+package com.example.NinjaBux.service;
+
+import com.example.NinjaBux.domain.LedgerDailyRollup;
+import com.example.NinjaBux.domain.LedgerTxn;
+import com.example.NinjaBux.domain.enums.BeltType;
+import com.example.NinjaBux.domain.enums.LedgerSourceType;
+import com.example.NinjaBux.domain.enums.LedgerTxnType;
+import com.example.NinjaBux.dto.LedgerSourceBreakdownResponse;
+import com.example.NinjaBux.repository.LedgerDailyRollupRepository;
+import com.example.NinjaBux.repository.LedgerTxnRepository;
+import com.example.NinjaBux.util.TransactionUtils;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+// per-day ledger totals by source, txn type and belt; buffered like the login rollups
+@Service
+public class LedgerRollupService {
+
+  private static final Logger logger = LoggerFactory.getLogger(LedgerRollupService.class);
+
+  @Autowired private LedgerDailyRollupRepository rollupRepository;
+
+  @Autowired private LedgerTxnRepository ledgerTxnRepository;
+
+  // {earned, spent, count} not yet written, guarded by this
+  private Map<RollupKey, long[]> pending = new HashMap<>();
+
+  // rows created before this are covered by the seed, guarded by this
+  private LocalDateTime seedCutoff;
+
+  // ledger rows can commit before the ready event (startup backfill, early requests) and are
+  // already in pending by now. They're dropped here and counted by the seed instead, and any
+  // pre-cutoff row whose callback runs later is skipped in addRecorded
+  @EventListener(ApplicationReadyEvent.class)
+  public void initRollups() {
+    if (rollupRepository.count() > 0) {
+      return;
+    }
+    LocalDateTime cutoff = LocalDateTime.now();
+    synchronized (this) {
+      pending.clear();
+      seedCutoff = cutoff;
+    }
+    List<Object[]> rows = ledgerTxnRepository.sumByDaySourceTypeAndBeltBefore(cutoff);
+    for (Object[] row : rows) {
+      RollupKey key =
+          new RollupKey(
+              (LocalDate) row[0],
+              (LedgerSourceType) row[1],
+              (LedgerTxnType) row[2],
+              (BeltType) row[3]);
+      addPending(
+          key,
+          ((Number) row[4]).longValue(),
+          ((Number) row[5]).longValue(),
+          ((Number) row[6]).longValue());
+    }
+    flush();
+    logger.info("Seeded ledger rollups from {} grouped ledger rows", rows.size());
+  }
+
+  public void record(LedgerTxn txn) {
+    if (txn == null || txn.getCreatedAt() == null) {
+      return;
+    }
+    LocalDateTime createdAt = txn.getCreatedAt();
+    RollupKey key =
+        new RollupKey(
+            createdAt.toLocalDate(),
+            txn.getSourceType(),
+            txn.getType(),
+            txn.getNinja() != null ? txn.getNinja().getCurrentBeltType() : null);
+    int amount = txn.getAmount();
+    TransactionUtils.afterCommit(
+        () -> addRecorded(createdAt, key, Math.max(amount, 0), Math.max(-amount, 0)));
+  }
+
+  public LedgerSourceBreakdownResponse getBreakdown(LocalDate start, LocalDate end, BeltType belt) {
+    Map<LedgerSourceType, Map<LedgerTxnType, long[]>> totals =
+        new EnumMap<>(LedgerSourceType.class);
+    for (Object[] row : rollupRepository.sumBySourceAndType(start, end, belt)) {
+      long[] cell =
+          totals
+              .computeIfAbsent((LedgerSourceType) row[0], s -> new EnumMap<>(LedgerTxnType.class))
+              .computeIfAbsent((LedgerTxnType) row[1], t -> new long[3]);
+      cell[0] += ((Number) row[2]).longValue();
+      cell[1] += ((Number) row[3]).longValue();
+      cell[2] += ((Number) row[4]).longValue();
+    }
+    // fold in transactions that haven't been flushed yet
+    synchronized (this) {
+      for (Map.Entry<RollupKey, long[]> entry : pending.entrySet()) {
+        RollupKey key = entry.getKey();
+        if (key.day().isBefore(start)
+            || key.day().isAfter(end)
+            || (belt != null && belt != key.belt())) {
+          continue;
+        }
+        long[] cell =
+            totals
+                .computeIfAbsent(key.source(), s -> new EnumMap<>(LedgerTxnType.class))
+                .computeIfAbsent(key.type(), t -> new long[3]);
+        for (int i = 0; i < 3; i++) {
+          cell[i] += entry.getValue()[i];
+        }
+      }
+    }
+
+    LedgerSourceBreakdownResponse response = new LedgerSourceBreakdownResponse();
+    response.setStart(start);
+    response.setEnd(end);
+    response.setBelt(belt);
+    Map<String, LedgerSourceBreakdownResponse.Totals> bySource = new HashMap<>();
+    Map<String, LedgerSourceBreakdownResponse.Totals> byType = new HashMap<>();
+    List<LedgerSourceBreakdownResponse.SourceTypeTotals> rows = new ArrayList<>();
+    long totalEarned = 0;
+    long totalSpent = 0;
+    for (Map.Entry<LedgerSourceType, Map<LedgerTxnType, long[]>> sourceEntry : totals.entrySet()) {
+      for (Map.Entry<LedgerTxnType, long[]> typeEntry : sourceEntry.getValue().entrySet()) {
+        long[] cell = typeEntry.getValue();
+        bySource
+            .computeIfAbsent(
+                sourceEntry.getKey().name(), k -> new LedgerSourceBreakdownResponse.Totals())
+            .add(cell[0], cell[1], cell[2]);
+        byType
+            .computeIfAbsent(
+                typeEntry.getKey().name(), k -> new LedgerSourceBreakdownResponse.Totals())
+            .add(cell[0], cell[1], cell[2]);
+        rows.add(
+            new LedgerSourceBreakdownResponse.SourceTypeTotals(
+                sourceEntry.getKey(), typeEntry.getKey(), cell[0], cell[1], cell[2]));
+        totalEarned += cell[0];
+        totalSpent += cell[1];
+      }
+    }
+    response.setTotalEarned(totalEarned);
+    response.setTotalSpent(totalSpent);
+    response.setBySource(bySource);
+    response.setByType(byType);
+    response.setRows(rows);
+    return response;
+  }
+
+  @Scheduled(fixedDelayString = "${ninjabux.analytics.ledger-rollup-flush-ms:60000}")
+  public void flush() {
+    Map<RollupKey, long[]> batch = drainPending();
+    for (Map.Entry<RollupKey, long[]> entry : batch.entrySet()) {
+      RollupKey key = entry.getKey();
+      long[] delta = entry.getValue();
+      try {
+        LedgerDailyRollup row =
+            rollupRepository
+                .findByActivityDateAndSourceTypeAndTxnTypeAndBeltType(
+                    key.day(), key.source(), key.type(), key.belt())
+                .orElseGet(
+                    () -> new LedgerDailyRollup(key.day(), key.source(), key.type(), key.belt()));
+        row.setEarned(row.getEarned() + delta[0]);
+        row.setSpent(row.getSpent() + delta[1]);
+        row.setTxnCount(row.getTxnCount() + delta[2]);
+        rollupRepository.save(row);
+      } catch (Exception e) {
+        addPending(key, delta[0], delta[1], delta[2]);
+        logger.error("Error saving ledger rollup {}: {}", key, e.getMessage(), e);
+      }
+    }
+  }
+
+  @PreDestroy
+  public void flushOnShutdown() {
+    flush();
+  }
+
+  private synchronized void addRecorded(
+      LocalDateTime createdAt, RollupKey key, long earned, long spent) {
+    if (seedCutoff != null && createdAt.isBefore(seedCutoff)) {
+      return;
+    }
+    addPending(key, earned, spent, 1);
+  }
+
+  private synchronized void addPending(RollupKey key, long earned, long spent, long count) {
+    long[] cell = pending.computeIfAbsent(key, k -> new long[3]);
+    cell[0] += earned;
+    cell[1] += spent;
+    cell[2] += count;
+  }
+
+  private synchronized Map<RollupKey, long[]> drainPending() {
+    Map<RollupKey, long[]> batch = pending;
+    pending = new HashMap<>();
+    return batch;
+  }
+
+  private record RollupKey(
+      LocalDate day, LedgerSourceType source, LedgerTxnType type, BeltType belt) {}
+}
@@ -1,9 +1,11 @@
 package com.example.NinjaBux.service;
 
+import com.example.NinjaBux.domain.Achievement;
 import com.example.NinjaBux.domain.LedgerTxn;
 import com.example.NinjaBux.domain.LegacyLedgerTxn;
 import com.example.NinjaBux.domain.Ninja;
 import com.example.NinjaBux.domain.Purchase;
+import com.example.NinjaBux.domain.enums.AchievementTrigger;
 import com.example.NinjaBux.domain.enums.BeltType;
 import com.example.NinjaBux.domain.enums.LedgerSourceType;
 import com.example.NinjaBux.domain.enums.LedgerTxnType;
@@ -12,11 +14,13 @@ import com.example.NinjaBux.repository.LedgerTxnRepository;
 import com.example.NinjaBux.repository.LegacyLedgerTxnRepository;
 import com.example.NinjaBux.repository.NinjaRepository;
 import com.example.NinjaBux.util.AdminUtils;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.stream.Collectors;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,6 +31,13 @@ public class LedgerService extends NinjaServiceBase {
 
   @Autowired private LegacyLedgerTxnRepository legacyLedgerTxnRepository;
 
+  @Autowired private LedgerRollupService ledgerRollupService;
+
+  @Autowired private ActivityWindowService activityWindowService;
+
+  // lazy: OutboxService -> AchievementService -> LedgerService would otherwise be a cycle
+  @Lazy @Autowired private OutboxService outboxService;
+
   public int getBuxBalance(Long ninjaId) {
     Ninja ninja = findNinja(ninjaId);
     return ledgerTxnRepository.sumAmountByNinja(ninja);
@@ -51,7 +62,7 @@ public class LedgerService extends NinjaServiceBase {
             note != null
                 ? note
                 : String.format("Lesson completion: %s Belt (+%d Bux)", beltType, bux));
-    ledgerTxnRepository.save(txn);
+    saveTxn(txn);
     return bux;
   }
 
@@ -67,7 +78,7 @@ public class LedgerService extends NinjaServiceBase {
             LedgerSourceType.BELT_UP,
             null,
             note != null ? note : String.format("Belt-up reward: %s (+%d Bux)", beltType, bux));
-    ledgerTxnRepository.save(txn);
+    saveTxn(txn);
     return bux;
   }
 
@@ -86,7 +97,7 @@ public class LedgerService extends NinjaServiceBase {
                 ? note
                 : String.format(
                     "Level-up reward: %s Belt Level %d (+%d Bux)", beltType, level, bux));
-    ledgerTxnRepository.save(txn);
+    saveTxn(txn);
     return bux;
   }
 
@@ -102,11 +113,34 @@ public class LedgerService extends NinjaServiceBase {
             LedgerSourceType.PURCHASE,
             purchase.getId(),
             String.format("Purchase: %s (-%d Bux)", purchase.getShopItem().getName(), price));
-    txn = ledgerTxnRepository.save(txn);
+    txn = saveTxn(txn);
     purchase.setSpendTxn(txn);
     return txn;
   }
 
+  // checkout: one spend per purchase, saved together
+  @Transactional
+  public List<LedgerTxn> recordPurchaseSpends(List<Purchase> purchases) {
+    List<LedgerTxn> txns = new ArrayList<>();
+    for (Purchase purchase : purchases) {
+      int price = purchase.getPricePaid();
+      txns.add(
+          new LedgerTxn(
+              purchase.getNinja(),
+              -price,
+              LedgerTxnType.SPEND,
+              LedgerSourceType.PURCHASE,
+              purchase.getId(),
+              String.format("Purchase: %s (-%d Bux)", purchase.getShopItem().getName(), price)));
+    }
+    List<LedgerTxn> saved = ledgerTxnRepository.saveAll(txns);
+    for (int i = 0; i < saved.size(); i++) {
+      purchases.get(i).setSpendTxn(saved.get(i));
+      recordSaved(saved.get(i));
+    }
+    return saved;
+  }
+
   @Transactional
   public LedgerTxn recordPurchaseRefund(Purchase purchase, String note) {
     Ninja ninja = purchase.getNinja();
@@ -121,11 +155,33 @@ public class LedgerService extends NinjaServiceBase {
             note != null
                 ? note
                 : String.format("Refund: %s (+%d Bux)", purchase.getShopItem().getName(), refund));
-    txn = ledgerTxnRepository.save(txn);
+    txn = saveTxn(txn);
     purchase.setRefundTxn(txn);
     return txn;
   }
 
+  // bulk refunds: one refund per purchase, saved together
+  @Transactional
+  public List<LedgerTxn> recordPurchaseRefunds(List<Purchase> purchases, String note) {
+    List<LedgerTxn> txns = new ArrayList<>();
+    for (Purchase purchase : purchases) {
+      txns.add(
+          new LedgerTxn(
+              purchase.getNinja(),
+              purchase.getPricePaid(),
+              LedgerTxnType.REFUND,
+              LedgerSourceType.PURCHASE,
+              purchase.getId(),
+              note));
+    }
+    List<LedgerTxn> saved = ledgerTxnRepository.saveAll(txns);
+    for (int i = 0; i < saved.size(); i++) {
+      purchases.get(i).setRefundTxn(saved.get(i));
+      recordSaved(saved.get(i));
+    }
+    return saved;
+  }
+
   @Transactional
   public LedgerTxn recordAchievementReward(
       Long ninjaId, Long achievementId, int buxAmount, String achievementName) {
@@ -138,7 +194,36 @@ public class LedgerService extends NinjaServiceBase {
             LedgerSourceType.ACHIEVEMENT,
             achievementId,
             String.format("Achievement: %s (+%d Bux)", achievementName, buxAmount));
-    return ledgerTxnRepository.save(txn);
+    LedgerTxn saved = saveTxn(txn);
+    enqueueRewardCheck(ninjaId);
+    return saved;
+  }
+
+  // one saveAll for a batch of unlocks instead of a ninja lookup + insert per reward
+  @Transactional
+  public List<LedgerTxn> recordAchievementRewards(Ninja ninja, List<Achievement> achievements) {
+    List<LedgerTxn> txns = new ArrayList<>();
+    for (Achievement achievement : achievements) {
+      if (achievement.getBuxReward() <= 0) {
+        continue;
+      }
+      txns.add(
+          new LedgerTxn(
+              ninja,
+              achievement.getBuxReward(),
+              LedgerTxnType.EARN,
+              LedgerSourceType.ACHIEVEMENT,
+              achievement.getId(),
+              String.format(
+                  "Achievement: %s (+%d Bux)", achievement.getName(), achievement.getBuxReward())));
+    }
+    if (txns.isEmpty()) {
+      return txns;
+    }
+    List<LedgerTxn> saved = ledgerTxnRepository.saveAll(txns);
+    saved.forEach(this::recordSaved);
+    enqueueRewardCheck(ninja.getId());
+    return saved;
   }
 
   @Transactional
@@ -157,7 +242,7 @@ public class LedgerService extends NinjaServiceBase {
                 : String.format(
                     "Admin adjustment by %s: %+d Bux",
                     AdminUtils.getAdminUsername(adminUsername), buxAmount));
-    return ledgerTxnRepository.save(txn);
+    return saveTxn(txn);
   }
 
   @Transactional
@@ -172,7 +257,7 @@ public class LedgerService extends NinjaServiceBase {
             LedgerSourceType.IMPORT,
             null,
             note != null ? note : String.format("Legacy grant: %d Legacy", legacyUnits));
-    return legacyLedgerTxnRepository.save(txn);
+    return saveLegacyTxn(txn);
   }
 
   @Transactional
@@ -189,7 +274,7 @@ public class LedgerService extends NinjaServiceBase {
             String.format(
                 "Import/onboarding: Bux grant (calculated from belt/level/lesson = %d Bux)",
                 totalBuxGrant));
-    ledgerTxnRepository.save(txn);
+    saveTxn(txn);
     return totalBuxGrant;
   }
 
@@ -213,6 +298,16 @@ public class LedgerService extends NinjaServiceBase {
     return ledgerTxnRepository.sumEarnedAmountByNinja(ninja);
   }
 
+  // {earned, spent} without reloading the ninja
+  public int[] getEarnedAndSpent(Long ninjaId) {
+    List<Object[]> rows = ledgerTxnRepository.sumEarnedAndSpentByNinjaId(ninjaId);
+    if (rows.isEmpty()) {
+      return new int[] {0, 0};
+    }
+    Object[] row = rows.get(0);
+    return new int[] {((Number) row[0]).intValue(), ((Number) row[1]).intValue()};
+  }
+
   public int getTotalBuxSpent(Long ninjaId) {
     Ninja ninja = findNinja(ninjaId);
     int spent = ledgerTxnRepository.sumSpentAmountByNinja(ninja);
@@ -234,7 +329,7 @@ public class LedgerService extends NinjaServiceBase {
                 ? note
                 : String.format(
                     "Admin Legacy adjustment by %s: %+d Legacy", adminUsername, legacyAmount));
-    return legacyLedgerTxnRepository.save(txn);
+    return saveLegacyTxn(txn);
   }
 
   public Map<Long, Integer> getBuxBalances(List<Ninja> ninjas) {
@@ -295,4 +390,31 @@ public class LedgerService extends NinjaServiceBase {
   public int getTotalSpentGlobal() {
     return ledgerTxnRepository.sumTotalSpent();
   }
+
+  // every bux ledger write goes through here so the daily rollups and activity windows
+  // stay in step
+  private LedgerTxn saveTxn(LedgerTxn txn) {
+    LedgerTxn saved = ledgerTxnRepository.save(txn);
+    recordSaved(saved);
+    return saved;
+  }
+
+  // an achievement reward raises TOTAL_BUX_EARNED, but the pass that paid it read earned once
+  // up front, so anything the reward itself unlocks is picked up by a follow-up check
+  private void enqueueRewardCheck(Long ninjaId) {
+    outboxService.enqueueAchievementCheck(ninjaId, AchievementTrigger.BUX_AWARDED);
+  }
+
+  // legacy grants are what LEGACY_POINTS achievements wait on
+  private LegacyLedgerTxn saveLegacyTxn(LegacyLedgerTxn txn) {
+    LegacyLedgerTxn saved = legacyLedgerTxnRepository.save(txn);
+    outboxService.enqueueAchievementCheck(
+        saved.getNinja().getId(), AchievementTrigger.LEGACY_GRANTED);
+    return saved;
+  }
+
+  private void recordSaved(LedgerTxn saved) {
+    ledgerRollupService.record(saved);
+    activityWindowService.recordLedger(saved);
+  }
 }
@@ -0,0 +1,248 @@
+package com.example.NinjaBux.service;
+
+import com.example.NinjaBux.domain.LoginHourlyRollup;
+import com.example.NinjaBux.domain.enums.ActivityMetric;
+import com.example.NinjaBux.dto.LoginActivityResponse;
+import com.example.NinjaBux.repository.LoginHourlyRollupRepository;
+import com.example.NinjaBux.repository.NinjaLoginLogRepository;
+import com.example.NinjaBux.util.TransactionUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// hourly login rollups, buffered in memory and folded into login_hourly_rollup on a timer
+@Service
+public class LoginActivityService {
+
+  private static final Logger logger = LoggerFactory.getLogger(LoginActivityService.class);
+
+  @Autowired private LoginHourlyRollupRepository rollupRepository;
+
+  @Autowired private NinjaLoginLogRepository loginLogRepository;
+
+  @Autowired private UniqueActivityService uniqueActivityService;
+
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  @Value("${ninjabux.analytics.login-retention-days:90}")
+  private int retentionDays;
+
+  // deltas not yet written to the rollup table, guarded by this
+  private Map<HourKey, int[]> pending = new HashMap<>();
+
+  private volatile boolean initialized = false;
+
+  // logins before this are covered by the backfill, guarded by this
+  private LocalDateTime backfillCutoff;
+
+  private TransactionTemplate transactionTemplate;
+
+  @PostConstruct
+  public void init() {
+    transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void initRollups() {
+    if (rollupRepository.count() == 0) {
+      backfillFromLoginLog();
+    }
+    initialized = true;
+  }
+
+  public void recordLogin(LocalDateTime when, boolean successful) {
+    if (when == null) {
+      return;
+    }
+    HourKey key = HourKey.of(when);
+    TransactionUtils.afterCommit(
+        () -> addRecorded(when, key, successful ? 1 : 0, successful ? 0 : 1));
+  }
+
+  public LoginActivityResponse getLoginActivity(LocalDate start, LocalDate end) {
+    Map<HourKey, int[]> hours = loadHours(start, end);
+
+    Map<LocalDate, int[]> byDay = new HashMap<>();
+    int[][] heatmap = new int[7][24];
+    int totalSuccesses = 0;
+    int totalFailures = 0;
+    for (Map.Entry<HourKey, int[]> entry : hours.entrySet()) {
+      HourKey key = entry.getKey();
+      int[] counts = entry.getValue();
+      int[] day = byDay.computeIfAbsent(key.day(), d -> new int[2]);
+      day[0] += counts[0];
+      day[1] += counts[1];
+      heatmap[key.day().getDayOfWeek().getValue() - 1][key.hour()] += counts[0];
+      totalSuccesses += counts[0];
+      totalFailures += counts[1];
+    }
+
+    List<LoginActivityResponse.DailyLogins> days = new ArrayList<>();
+    for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+      int[] counts = byDay.getOrDefault(day, new int[2]);
+      days.add(
+          new LoginActivityResponse.DailyLogins(
+              day,
+              counts[0],
+              counts[1],
+              uniqueActivityService.countUnique(ActivityMetric.LOGIN, day, day)));
+    }
+
+    LoginActivityResponse response = new LoginActivityResponse();
+    response.setStart(start);
+    response.setEnd(end);
+    response.setTotalSuccesses(totalSuccesses);
+    response.setTotalFailures(totalFailures);
+    response.setDistinctNinjas(uniqueActivityService.countUnique(ActivityMetric.LOGIN, start, end));
+    response.setDays(days);
+    response.setHeatmap(heatmap);
+    return response;
+  }
+
+  public List<LoginActivityResponse.HourlyLogins> getHourlyLogins(LocalDate date) {
+    Map<HourKey, int[]> hours = loadHours(date, date);
+    List<LoginActivityResponse.HourlyLogins> result = new ArrayList<>();
+    for (int hour = 0; hour < 24; hour++) {
+      int[] counts = hours.getOrDefault(new HourKey(date, hour), new int[2]);
+      result.add(new LoginActivityResponse.HourlyLogins(hour, counts[0], counts[1]));
+    }
+    return result;
+  }
+
+  @Scheduled(fixedDelayString = "${ninjabux.analytics.login-rollup-flush-ms:60000}")
+  public void flush() {
+    Map<HourKey, int[]> batch = drainPending();
+    for (Map.Entry<HourKey, int[]> entry : batch.entrySet()) {
+      HourKey key = entry.getKey();
+      int[] delta = entry.getValue();
+      try {
+        LoginHourlyRollup row =
+            rollupRepository
+                .findByActivityDateAndHourOfDay(key.day(), key.hour())
+                .orElseGet(() -> new LoginHourlyRollup(key.day(), key.hour()));
+        row.setSuccesses(row.getSuccesses() + delta[0]);
+        row.setFailures(row.getFailures() + delta[1]);
+        rollupRepository.save(row);
+      } catch (Exception e) {
+        addPending(key, delta[0], delta[1]);
+        logger.error("Error saving login rollup {}: {}", key, e.getMessage(), e);
+      }
+    }
+  }
+
+  @PreDestroy
+  public void flushOnShutdown() {
+    flush();
+  }
+
+  // raw rows are only dropped once their hours are safely in the rollup table. flush runs
+  // outside the delete's transaction so each rollup save commits on its own; a failed prune
+  // can't roll back deltas that were already drained from pending
+  @Scheduled(cron = "${ninjabux.analytics.login-retention-cron:0 30 3 * * *}")
+  public void pruneRawLogins() {
+    if (!initialized || retentionDays <= 0) {
+      return;
+    }
+    flush();
+    if (hasPending()) {
+      logger.warn("Skipping login log pruning, rollups still have unsaved changes");
+      return;
+    }
+    LocalDateTime cutoff = LocalDate.now().minusDays(retentionDays).atStartOfDay();
+    Integer deleted =
+        transactionTemplate.execute(status -> loginLogRepository.deleteByLoginTimeBefore(cutoff));
+    if (deleted != null && deleted > 0) {
+      logger.info("Pruned {} login log rows older than {}", deleted, cutoff);
+    }
+  }
+
+  private Map<HourKey, int[]> loadHours(LocalDate start, LocalDate end) {
+    Map<HourKey, int[]> hours = new HashMap<>();
+    for (LoginHourlyRollup row :
+        rollupRepository.findByActivityDateBetweenOrderByActivityDateAscHourOfDayAsc(start, end)) {
+      hours.put(
+          new HourKey(row.getActivityDate(), row.getHourOfDay()),
+          new int[] {row.getSuccesses(), row.getFailures()});
+    }
+    // include logins that haven't been flushed yet
+    synchronized (this) {
+      for (Map.Entry<HourKey, int[]> entry : pending.entrySet()) {
+        HourKey key = entry.getKey();
+        if (key.day().isBefore(start) || key.day().isAfter(end)) {
+          continue;
+        }
+        int[] counts = hours.computeIfAbsent(key, k -> new int[2]);
+        counts[0] += entry.getValue()[0];
+        counts[1] += entry.getValue()[1];
+      }
+    }
+    return hours;
+  }
+
+  // logins recorded before the ready event are already in pending; drop them and let the
+  // backfill count them, same as the ledger rollup seed
+  private void backfillFromLoginLog() {
+    LocalDateTime cutoff = LocalDateTime.now();
+    synchronized (this) {
+      pending.clear();
+      backfillCutoff = cutoff;
+    }
+    List<Object[]> rows = loginLogRepository.countByHourAndOutcomeBefore(cutoff);
+    for (Object[] row : rows) {
+      HourKey key = new HourKey((LocalDate) row[0], ((Number) row[1]).intValue());
+      int count = ((Number) row[3]).intValue();
+      if (Boolean.TRUE.equals(row[2])) {
+        addPending(key, count, 0);
+      } else {
+        addPending(key, 0, count);
+      }
+    }
+    flush();
+    logger.info("Backfilled login rollups from {} grouped login log rows", rows.size());
+  }
+
+  private synchronized void addRecorded(
+      LocalDateTime when, HourKey key, int successes, int failures) {
+    if (backfillCutoff != null && when.isBefore(backfillCutoff)) {
+      return;
+    }
+    addPending(key, successes, failures);
+  }
+
+  private synchronized void addPending(HourKey key, int successes, int failures) {
+    int[] counts = pending.computeIfAbsent(key, k -> new int[2]);
+    counts[0] += successes;
+    counts[1] += failures;
+  }
+
+  private synchronized Map<HourKey, int[]> drainPending() {
+    Map<HourKey, int[]> batch = pending;
+    pending = new HashMap<>();
+    return batch;
+  }
+
+  private synchronized boolean hasPending() {
+    return !pending.isEmpty();
+  }
+
+  private record HourKey(LocalDate day, int hour) {
+    static HourKey of(LocalDateTime when) {
+      return new HourKey(when.toLocalDate(), when.getHour());
+    }
+  }
+}
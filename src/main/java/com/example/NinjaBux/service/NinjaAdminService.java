@@ -2,6 +2,7 @@ package com.example.NinjaBux.service;
 
 import com.example.NinjaBux.domain.Ninja;
 import com.example.NinjaBux.domain.ProgressHistory;
+import com.example.NinjaBux.domain.enums.AchievementTrigger;
 import com.example.NinjaBux.exception.NinjaNotFoundException;
 import com.example.NinjaBux.repository.AchievementProgressRepository;
 import com.example.NinjaBux.repository.LedgerTxnRepository;
@@ -35,6 +36,10 @@ public class NinjaAdminService extends NinjaServiceBase {
   @Autowired(required = false)
   private AchievementProgressRepository achievementProgressRepository;
 
+  @Autowired private OutboxService outboxService;
+
+  @Autowired private AchievementStatsService achievementStatsService;
+
   @Transactional
   public void deleteNinja(Long ninjaId) {
     if (!ninjaRepository.existsById(ninjaId)) {
@@ -80,6 +85,7 @@ public class NinjaAdminService extends NinjaServiceBase {
     }
 
     ninjaRepository.deleteById(ninjaId);
+    achievementStatsService.recordNinjaDeleted();
   }
 
   @Transactional
@@ -110,6 +116,8 @@ public class NinjaAdminService extends NinjaServiceBase {
     history.setAdminUsername(AdminUtils.getAdminUsername(adminUsername));
     progressHistoryRepository.save(history);
 
+    outboxService.enqueueAchievementCheck(ninjaId, AchievementTrigger.BUX_AWARDED);
+
     return ninjaRepository.findById(ninjaId).orElse(ninja);
   }
 
@@ -2,6 +2,7 @@ package com.example.NinjaBux.service;
 
 import com.example.NinjaBux.domain.Ninja;
 import com.example.NinjaBux.domain.NinjaLoginLog;
+import com.example.NinjaBux.domain.enums.ActivityMetric;
 import com.example.NinjaBux.repository.NinjaLoginLogRepository;
 import com.example.NinjaBux.repository.NinjaRepository;
 import com.example.NinjaBux.security.JwtUtil;
@@ -24,6 +25,10 @@ public class NinjaAuthService {
 
   @Autowired private JwtUtil jwtUtil;
 
+  @Autowired private UniqueActivityService uniqueActivityService;
+
+  @Autowired private LoginActivityService loginActivityService;
+
   @Transactional
   public Optional<String> authenticateAndGenerateToken(
       String username, HttpServletRequest request) {
@@ -52,6 +57,8 @@ public class NinjaAuthService {
       NinjaLoginLog log =
           new NinjaLoginLog(ninja, getClientIp(request), request.getHeader("User-Agent"), true);
       loginLogRepository.save(log);
+      uniqueActivityService.record(ActivityMetric.LOGIN, ninja.getId(), log.getLoginTime());
+      loginActivityService.recordLogin(log.getLoginTime(), true);
     } catch (Exception e) {
       logger.error("Error logging successful ninja login: {}", e.getMessage(), e);
     }
@@ -65,6 +72,7 @@ public class NinjaAuthService {
             new NinjaLoginLog(
                 ninjaOpt.get(), getClientIp(request), request.getHeader("User-Agent"), false);
         loginLogRepository.save(log);
+        loginActivityService.recordLogin(log.getLoginTime(), false);
       }
     } catch (Exception e) {
       logger.error("Error logging failed ninja login: {}", e.getMessage(), e);
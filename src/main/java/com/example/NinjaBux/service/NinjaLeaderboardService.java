@@ -105,11 +105,11 @@ public class NinjaLeaderboardService {
                   if (rank == 1) {
                     entry.setTopEarner(true);
                   }
-                  populateAchievements(entry);
                   return entry;
                 })
             .filter(entry -> entry != null)
             .collect(Collectors.toList());
+    populateAchievements(topEarners);
 
     List<Ninja> ninjasForSpenders = ninjaRepository.findAll().stream()
             .filter(n -> !excludeLocked || !n.isLocked())
@@ -256,28 +256,37 @@ public class NinjaLeaderboardService {
               lessons,
               getRoundedSpent(ninja),
               i + 1);
-      populateAchievements(leaderboardEntry);
       entries.add(leaderboardEntry);
     }
+    populateAchievements(entries);
     return entries;
   }
 
-  private void populateAchievements(LeaderboardEntry entry) {
+  // badges for the whole board are loaded together rather than one ninja at a time
+  private void populateAchievements(List<LeaderboardEntry> entries) {
+    Map<Long, AchievementProgressDTO> badges = Collections.emptyMap();
+    if (achievementService != null && !entries.isEmpty()) {
+      try {
+        badges =
+            achievementService.getLeaderboardBadges(
+                entries.stream().map(LeaderboardEntry::getNinjaId).collect(Collectors.toList()));
+      } catch (Exception ignored) {
+      }
+    }
+    for (LeaderboardEntry entry : entries) {
+      entry.setTopAchievements(getTopAchievements(entry.getNinjaId()));
+      entry.setLeaderboardBadge(badges.get(entry.getNinjaId()));
+    }
+  }
+
+  private List<AchievementProgressDTO> getTopAchievements(Long ninjaId) {
     if (achievementService != null) {
       try {
-        List<AchievementProgressDTO> topAchievements =
-            achievementService.getTopAchievements(entry.getNinjaId(), 3);
-        entry.setTopAchievements(topAchievements);
-
-        AchievementProgressDTO leaderboardBadge =
-            achievementService.getLeaderboardBadge(entry.getNinjaId());
-        entry.setLeaderboardBadge(leaderboardBadge);
-        return;
+        return achievementService.getTopAchievements(ninjaId, 3);
       } catch (Exception ignored) {
       }
     }
-    entry.setTopAchievements(Collections.emptyList());
-    entry.setLeaderboardBadge(null);
+    return Collections.emptyList();
   }
 
   private List<LeaderboardEntry> buildTopEarners(List<NinjaLedgerView> views, int topN) {
@@ -305,7 +314,6 @@ public class NinjaLeaderboardService {
       NinjaLedgerView view = sorted.get(i);
       LeaderboardEntry entry =
           createLeaderboardEntry(view.getNinja(), view.getEarned(), view.getSpent(), i + 1);
-      populateAchievements(entry);
       if (i == 0) {
         if (isEarnerBoard) {
           entry.setTopEarner(true);
@@ -315,6 +323,7 @@ public class NinjaLeaderboardService {
       }
       entries.add(entry);
     }
+    populateAchievements(entries);
     return entries;
   }
 
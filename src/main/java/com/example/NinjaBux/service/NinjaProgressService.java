@@ -2,6 +2,8 @@ package com.example.NinjaBux.service;
 
 import com.example.NinjaBux.domain.Ninja;
 import com.example.NinjaBux.domain.ProgressHistory;
+import com.example.NinjaBux.domain.enums.AchievementTrigger;
+import com.example.NinjaBux.domain.enums.ActivityMetric;
 import com.example.NinjaBux.domain.enums.BeltType;
 import com.example.NinjaBux.domain.enums.BeltPath;
 import com.example.NinjaBux.domain.enums.BeltPath;
@@ -25,8 +27,13 @@ public class NinjaProgressService extends NinjaServiceBase {
 
   @Autowired private LedgerService ledgerService;
 
-  @Autowired(required = false)
-  private AchievementService achievementService;
+  @Autowired private UniqueActivityService uniqueActivityService;
+
+  @Autowired private ActivityWindowService activityWindowService;
+
+  @Autowired private OutboxService outboxService;
+
+  @Autowired private AchievementStatsService achievementStatsService;
 
   @Transactional
   public Ninja createNinja(
@@ -61,6 +68,7 @@ public class NinjaProgressService extends NinjaServiceBase {
 
     ninja.setLegacyPoints(rawBalance);
     ninja = ninjaRepository.save(ninja);
+    achievementStatsService.recordNinjaCreated();
 
     ledgerService.onboardNinjaWithLegacy(ninja.getId(), computedBalance);
     ledgerService.grantLegacy(
@@ -68,12 +76,7 @@ public class NinjaProgressService extends NinjaServiceBase {
         rawBalance,
         String.format("Legacy points for onboarding (%d raw)", rawBalance));
 
-    if (achievementService != null) {
-      try {
-        achievementService.checkAndUnlockAchievements(ninja.getId());
-      } catch (Exception ignored) {
-      }
-    }
+    outboxService.enqueueAchievementCheck(ninja.getId(), null);
 
     return ninjaRepository.findById(ninja.getId()).orElse(ninja);
   }
@@ -302,13 +305,18 @@ public class NinjaProgressService extends NinjaServiceBase {
               buxGained,
               ProgressHistory.EarningType.LEVEL_UP);
       progressHistoryRepository.save(history);
+      uniqueActivityService.record(ActivityMetric.PROGRESSOR, ninja.getId(), history.getTimestamp());
+      activityWindowService.recordProgress(
+          ninja.getId(),
+          BeltRewardCalculator.calculateTotalLessons(newBelt, newLevel, newLesson, beltPath)
+              - BeltRewardCalculator.calculateTotalLessons(oldBelt, oldLevel, oldLesson, beltPath),
+          BeltRewardCalculator.calculateTotalLevels(newBelt, newLevel, beltPath)
+              - BeltRewardCalculator.calculateTotalLevels(oldBelt, oldLevel, beltPath),
+          history.getTimestamp());
     }
 
-    if (achievementService != null && buxGained > 0) {
-      try {
-        achievementService.checkAndUnlockAchievements(ninja.getId());
-      } catch (Exception ignored) {
-      }
+    if (buxGained > 0) {
+      outboxService.enqueueAchievementCheck(ninja.getId(), AchievementTrigger.PROGRESS);
     }
 
     return ninja;
@@ -0,0 +1,56 @@
+package com.example.NinjaBux.service;
+
+import com.example.NinjaBux.dto.AchievementProgressDTO;
+import com.example.NinjaBux.dto.NotificationMessage;
+import java.util.HashMap;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+// pushes STOMP notifications; a failed push is logged and never breaks the caller
+@Service
+public class NotificationService {
+
+  private static final Logger logger = LoggerFactory.getLogger(NotificationService.class);
+
+  @Autowired private SimpMessagingTemplate messagingTemplate;
+
+  public void sendToNinja(Long ninjaId, NotificationMessage notification) {
+    send("/topic/ninja/" + ninjaId, notification);
+  }
+
+  public void send(String destination, Object payload) {
+    try {
+      messagingTemplate.convertAndSend(destination, payload);
+    } catch (Exception e) {
+      logger.warn("Error sending notification to {}: {}", destination, e.getMessage());
+    }
+  }
+
+  public void notifyAchievementUnlocked(AchievementProgressDTO progress, int unseenCount) {
+    Map<String, Object> data = new HashMap<>();
+    data.put("progress", progress);
+    data.put("unseenCount", unseenCount);
+    data.put("progressId", progress.getId());
+    data.put("achievementId", progress.getAchievement().getId());
+    data.put("buxReward", progress.getAchievement().getBuxReward());
+    data.put("rarity", progress.getAchievement().getRarity());
+    data.put("icon", progress.getAchievement().getIcon());
+
+    String reward =
+        progress.getAchievement().getBuxReward() > 0
+            ? String.format(" (+%d Bux)", progress.getAchievement().getBuxReward())
+            : "";
+    sendToNinja(
+        progress.getNinjaId(),
+        new NotificationMessage(
+            "ACHIEVEMENT",
+            "Achievement Unlocked!",
+            progress.getAchievement().getName() + reward,
+            progress.getNinjaId(),
+            data));
+  }
+}
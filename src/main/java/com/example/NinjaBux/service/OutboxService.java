@@ -0,0 +1,203 @@
+package com.example.NinjaBux.service;
+
+import com.example.NinjaBux.domain.OutboxEvent;
+import com.example.NinjaBux.domain.enums.AchievementTrigger;
+import com.example.NinjaBux.domain.enums.OutboxEventType;
+import com.example.NinjaBux.domain.enums.OutboxStatus;
+import com.example.NinjaBux.repository.NinjaRepository;
+import com.example.NinjaBux.repository.OutboxEventRepository;
+import com.example.NinjaBux.util.TransactionUtils;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// transactional outbox: follow-up work (achievement checks for now) is written as a row in the
+// same transaction as the change that caused it, then handled on a background thread after
+// commit so the request never waits on it and a rollback never leaves a stray unlock behind
+@Service
+public class OutboxService {
+
+  private static final Logger logger = LoggerFactory.getLogger(OutboxService.class);
+
+  @Autowired private OutboxEventRepository outboxEventRepository;
+
+  @Autowired private AchievementService achievementService;
+
+  @Autowired private NinjaRepository ninjaRepository;
+
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  @Value("${ninjabux.outbox.max-attempts:5}")
+  private int maxAttempts;
+
+  @Value("${ninjabux.outbox.retention-days:7}")
+  private int retentionDays;
+
+  @Value("${ninjabux.outbox.poll-grace-ms:2000}")
+  private long pollGraceMs;
+
+  private TransactionTemplate transactionTemplate;
+  private ExecutorService dispatcher;
+  private final AtomicBoolean dispatchQueued = new AtomicBoolean();
+
+  // events whose own commit has nudged the dispatcher, handled without waiting out the grace
+  private final Set<Long> nudged = ConcurrentHashMap.newKeySet();
+
+  @PostConstruct
+  public void init() {
+    transactionTemplate = new TransactionTemplate(transactionManager);
+    dispatcher = Executors.newSingleThreadExecutor();
+  }
+
+  @PreDestroy
+  public void shutdown() {
+    dispatcher.shutdownNow();
+  }
+
+  // trigger == null means a full evaluation. The poll can see the row as soon as it commits,
+  // before the committing thread has run the afterCommit callbacks that update the in-memory
+  // counters the check reads (activity windows, daily purchase counts), so it leaves the
+  // event alone for a grace period. The nudge is registered after those callbacks and
+  // dispatches the event straight away
+  public void enqueueAchievementCheck(Long ninjaId, AchievementTrigger trigger) {
+    if (ninjaId == null) {
+      return;
+    }
+    OutboxEvent event =
+        new OutboxEvent(
+            OutboxEventType.ACHIEVEMENT_CHECK, ninjaId, trigger != null ? trigger.name() : null);
+    event.setNextAttemptAt(event.getCreatedAt().plus(Duration.ofMillis(pollGraceMs)));
+    Long eventId = outboxEventRepository.save(event).getId();
+    TransactionUtils.afterCommit(
+        () -> {
+          nudged.add(eventId);
+          wakeUp();
+        });
+  }
+
+  // the poll picks up anything a nudge missed (retries, events left over from a restart)
+  @Scheduled(fixedDelayString = "${ninjabux.outbox.poll-ms:5000}")
+  public void wakeUp() {
+    if (dispatchQueued.compareAndSet(false, true)) {
+      try {
+        dispatcher.submit(this::dispatchPending);
+      } catch (Exception e) {
+        dispatchQueued.set(false);
+      }
+    }
+  }
+
+  @Scheduled(cron = "${ninjabux.outbox.cleanup-cron:0 45 3 * * *}")
+  public void purgeProcessed() {
+    LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+    Integer deleted =
+        transactionTemplate.execute(status -> outboxEventRepository.deleteDoneBefore(cutoff));
+    logger.info("Purged {} processed outbox events older than {}", deleted, cutoff);
+  }
+
+  private void dispatchPending() {
+    dispatchQueued.set(false);
+    List<Long> nudgedIds = new ArrayList<>(nudged);
+    nudged.removeAll(nudgedIds);
+    if (!nudgedIds.isEmpty()) {
+      List<OutboxEvent> ready = new ArrayList<>(outboxEventRepository.findAllById(nudgedIds));
+      ready.sort(Comparator.comparing(OutboxEvent::getId));
+      for (OutboxEvent event : ready) {
+        if (event.getStatus() == OutboxStatus.PENDING) {
+          process(event);
+        }
+      }
+    }
+
+    List<OutboxEvent> batch;
+    do {
+      batch =
+          outboxEventRepository.findTop50ByStatusAndNextAttemptAtLessThanEqualOrderByIdAsc(
+              OutboxStatus.PENDING, LocalDateTime.now());
+      for (OutboxEvent event : batch) {
+        process(event);
+      }
+    } while (batch.size() == 50 && !Thread.currentThread().isInterrupted());
+  }
+
+  // unlocks are pushed to the ninja by AchievementService once this transaction commits
+  private void process(OutboxEvent event) {
+    try {
+      transactionTemplate.executeWithoutResult(status -> handle(event));
+    } catch (Exception e) {
+      markFailedAttempt(event, e);
+    }
+  }
+
+  private void handle(OutboxEvent event) {
+    switch (event.getEventType()) {
+      case ACHIEVEMENT_CHECK -> {
+        // checked up front: letting AchievementService throw would mark this transaction
+        // rollback-only and the DONE update below would never commit
+        if (!ninjaRepository.existsById(event.getNinjaId())) {
+          event.setLastError("Ninja " + event.getNinjaId() + " no longer exists");
+        } else if (event.getPayload() == null) {
+          achievementService.checkAndUnlockAchievements(event.getNinjaId());
+        } else {
+          achievementService.checkAndUnlockAchievements(
+              event.getNinjaId(), AchievementTrigger.valueOf(event.getPayload()));
+        }
+      }
+    }
+
+    event.setStatus(OutboxStatus.DONE);
+    event.setAttempts(event.getAttempts() + 1);
+    event.setProcessedAt(LocalDateTime.now());
+    outboxEventRepository.save(event);
+  }
+
+  private void markFailedAttempt(OutboxEvent event, Exception error) {
+    int attempts = event.getAttempts() + 1;
+    String message = String.valueOf(error.getMessage());
+    try {
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            OutboxEvent fresh = outboxEventRepository.findById(event.getId()).orElse(null);
+            if (fresh == null) {
+              return;
+            }
+            fresh.setAttempts(attempts);
+            fresh.setLastError(message.length() > 500 ? message.substring(0, 500) : message);
+            if (attempts >= maxAttempts) {
+              fresh.setStatus(OutboxStatus.FAILED);
+              fresh.setProcessedAt(LocalDateTime.now());
+            } else {
+              // 2s, 4s, 8s, ... capped at 5 minutes
+              long backoffSeconds = Math.min(300, 1L << attempts);
+              fresh.setNextAttemptAt(LocalDateTime.now().plusSeconds(backoffSeconds));
+            }
+            outboxEventRepository.save(fresh);
+          });
+    } catch (Exception e) {
+      logger.error("Error recording outbox failure for event {}: {}", event.getId(), e.getMessage());
+    }
+
+    if (attempts >= maxAttempts) {
+      logger.error("Outbox event {} failed after {} attempts: {}", event.getId(), attempts, message);
+    } else {
+      logger.warn("Outbox event {} failed (attempt {}): {}", event.getId(), attempts, message);
+    }
+  }
+}
@@ -0,0 +1,91 @@
+package com.example.NinjaBux.service;
+
+import com.example.NinjaBux.domain.Purchase;
+import com.example.NinjaBux.domain.enums.PurchaseStatus;
+import com.example.NinjaBux.dto.NotificationMessage;
+import com.example.NinjaBux.dto.PurchaseResponse;
+import com.example.NinjaBux.dto.RedemptionQueueResponse;
+import com.example.NinjaBux.repository.PurchaseRepository;
+import com.example.NinjaBux.util.TransactionUtils;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+// every PURCHASED item across all ninjas, oldest first, for the sensei's redemption screen.
+// New purchases and anything that leaves the queue are pushed on /topic/admin/redemptions
+@Service
+public class RedemptionQueueService {
+
+  public static final String QUEUE_TOPIC = "/topic/admin/redemptions";
+
+  private static final int MAX_PAGE_SIZE = 200;
+
+  @Autowired private PurchaseRepository purchaseRepository;
+
+  @Autowired private NotificationService notificationService;
+
+  // afterDate/afterId come from the previous page's last row; null for the first page
+  public RedemptionQueueResponse getQueue(LocalDateTime afterDate, Long afterId, int limit) {
+    PageRequest page = PageRequest.of(0, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+    List<Purchase> purchases =
+        afterDate == null || afterId == null
+            ? purchaseRepository.findRedemptionQueue(page)
+            : purchaseRepository.findRedemptionQueueAfter(afterDate, afterId, page);
+
+    Purchase last =
+        purchases.size() < page.getPageSize() ? null : purchases.get(purchases.size() - 1);
+    return new RedemptionQueueResponse(
+        purchases.stream().map(PurchaseResponse::new).toList(),
+        last != null ? last.getPurchaseDate() : null,
+        last != null ? last.getId() : null);
+  }
+
+  // one UPDATE for the whole batch; ids that are no longer PURCHASED are skipped
+  @Transactional
+  public int redeemAll(Collection<Long> purchaseIds) {
+    Collection<Long> ids = new LinkedHashSet<>(purchaseIds);
+    int redeemed =
+        purchaseRepository.redeemAll(
+            ids, LocalDateTime.now(), PurchaseStatus.PURCHASED, PurchaseStatus.REDEEMED);
+    publishRemovedAfterCommit(ids);
+    return redeemed;
+  }
+
+  public void publishAddedAfterCommit(Collection<Purchase> purchases) {
+    List<PurchaseResponse> added = purchases.stream().map(PurchaseResponse::new).toList();
+    TransactionUtils.afterCommit(
+        () -> {
+          for (PurchaseResponse purchase : added) {
+            notificationService.send(
+                QUEUE_TOPIC,
+                new NotificationMessage(
+                    "PURCHASE",
+                    "New purchase",
+                    purchase.getNinjaName() + " bought " + purchase.getItemName(),
+                    purchase.getNinjaId(),
+                    Map.of("purchase", purchase)));
+          }
+        });
+  }
+
+  // redeemed or refunded, either way the sensei no longer has to hand it out
+  public void publishRemovedAfterCommit(Collection<Long> purchaseIds) {
+    List<Long> ids = List.copyOf(purchaseIds);
+    TransactionUtils.afterCommit(
+        () ->
+            notificationService.send(
+                QUEUE_TOPIC,
+                new NotificationMessage(
+                    "REMOVED",
+                    "Redemption queue updated",
+                    ids.size() + " purchase(s) left the queue",
+                    null,
+                    Map.of("purchaseIds", ids))));
+  }
+}
@@ -0,0 +1,62 @@
+package com.example.NinjaBux.service;
+
+import com.example.NinjaBux.domain.ShopItem;
+import com.example.NinjaBux.dto.ShopItemResponse;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// immutable view of the whole shop at one version. ShopService swaps in a new one after every
+// item change, so readers never touch the database and the version doubles as an ETag
+public final class ShopCatalog {
+
+  private final long version;
+  private final Instant lastModified;
+  private final List<ShopItemResponse> items;
+  private final List<ShopItemResponse> availableItems;
+  private final Map<String, List<ShopItemResponse>> itemsByCategory;
+
+  ShopCatalog(long version, Instant lastModified, List<ShopItem> items) {
+    this.version = version;
+    this.lastModified = lastModified;
+    this.items = items.stream().map(ShopItemResponse::new).collect(Collectors.toUnmodifiableList());
+    this.availableItems =
+        this.items.stream()
+            .filter(ShopItemResponse::isAvailable)
+            .collect(Collectors.toUnmodifiableList());
+
+    Map<String, List<ShopItemResponse>> byCategory = new LinkedHashMap<>();
+    for (ShopItemResponse item : this.items) {
+      byCategory.computeIfAbsent(item.getCategory(), c -> new ArrayList<>()).add(item);
+    }
+    byCategory.replaceAll((category, list) -> List.copyOf(list));
+    this.itemsByCategory = byCategory;
+  }
+
+  public long getVersion() {
+    return version;
+  }
+
+  public String getETag() {
+    return "\"" + version + "\"";
+  }
+
+  public Instant getLastModified() {
+    return lastModified;
+  }
+
+  public List<ShopItemResponse> getItems() {
+    return items;
+  }
+
+  public List<ShopItemResponse> getAvailableItems() {
+    return availableItems;
+  }
+
+  public List<ShopItemResponse> getItemsByCategory(String category) {
+    return itemsByCategory.getOrDefault(category, List.of());
+  }
+}
@@ -3,7 +3,17 @@ package com.example.NinjaBux.service;
 import com.example.NinjaBux.domain.Ninja;
 import com.example.NinjaBux.domain.Purchase;
 import com.example.NinjaBux.domain.ShopItem;
+import com.example.NinjaBux.domain.enums.AchievementTrigger;
+import com.example.NinjaBux.domain.enums.ActivityMetric;
 import com.example.NinjaBux.domain.enums.PurchaseStatus;
+import com.example.NinjaBux.dto.CheckoutResponse;
+import com.example.NinjaBux.dto.DiscontinueItemResponse;
+import com.example.NinjaBux.dto.NinjaShopItemResponse;
+import com.example.NinjaBux.dto.NinjaShopResponse;
+import com.example.NinjaBux.dto.PurchaseHistoryEntry;
+import com.example.NinjaBux.dto.PurchaseHistoryPage;
+import com.example.NinjaBux.dto.PurchaseResponse;
+import com.example.NinjaBux.dto.ShopItemResponse;
 import com.example.NinjaBux.exception.AccountLockedException;
 import com.example.NinjaBux.exception.InsufficientFundsException;
 import com.example.NinjaBux.exception.NinjaNotFoundException;
@@ -13,16 +23,37 @@ import com.example.NinjaBux.exception.ShopItemUnavailableException;
 import com.example.NinjaBux.repository.NinjaRepository;
 import com.example.NinjaBux.repository.PurchaseRepository;
 import com.example.NinjaBux.repository.ShopItemRepository;
+import com.example.NinjaBux.util.TransactionUtils;
+import jakarta.annotation.PostConstruct;
+import java.time.Instant;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 public class ShopService {
 
+  private static final Logger logger = LoggerFactory.getLogger(ShopService.class);
+
+  private static final int MAX_HISTORY_PAGE_SIZE = 200;
+
   @Autowired private ShopItemRepository shopItemRepository;
 
   @Autowired private PurchaseRepository purchaseRepository;
@@ -31,16 +62,140 @@ public class ShopService {
 
   @Autowired private LedgerService ledgerService;
 
-  public List<ShopItem> getAvailableItems() {
-    return shopItemRepository.findByAvailableTrue();
+  @Autowired private UniqueActivityService uniqueActivityService;
+
+  @Autowired private ActivityWindowService activityWindowService;
+
+  @Autowired private OutboxService outboxService;
+
+  @Autowired private ShopStockService shopStockService;
+
+  @Autowired private RedemptionQueueService redemptionQueueService;
+
+  @Autowired private DailyPurchaseCounter dailyPurchaseCounter;
+
+  @Autowired private DojoClock dojoClock;
+
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  @Value("${ninjabux.shop.refund-chunk-size:200}")
+  private int refundChunkSize;
+
+  private TransactionTemplate transactionTemplate;
+
+  private final AtomicReference<ShopCatalog> catalog = new AtomicReference<>();
+
+  @PostConstruct
+  public void init() {
+    transactionTemplate = new TransactionTemplate(transactionManager);
+  }
+
+  // loaded on first use, then only replaced after an item change commits
+  public ShopCatalog getCatalog() {
+    ShopCatalog current = catalog.get();
+    return current != null ? current : refreshCatalog();
+  }
+
+  public List<ShopItemResponse> getAvailableItems() {
+    return getCatalog().getAvailableItems();
+  }
+
+  public List<ShopItemResponse> getAllItems() {
+    return getCatalog().getItems();
+  }
+
+  public List<ShopItemResponse> getItemsByCategory(String category) {
+    return getCatalog().getItemsByCategory(category);
+  }
+
+  // the shop page for one ninja: items come from the catalog snapshot, stock and today's counts
+  // from memory, so it costs the ninja load, one balance read and at most one grouped count query
+  public NinjaShopResponse getItemsForNinja(Long ninjaId) {
+    Ninja ninja =
+        ninjaRepository.findById(ninjaId).orElseThrow(() -> new NinjaNotFoundException(ninjaId));
+    List<ShopItemResponse> items = getCatalog().getAvailableItems();
+    int balance = ledgerService.getBuxBalance(ninjaId);
+
+    List<Long> needsQuery =
+        items.stream()
+            .filter(
+                item ->
+                    needsStoredCounts(
+                        item.getMaxPerStudent(), item.getMaxLifetime(), item.getMaxActiveAtOnce()))
+            .map(ShopItemResponse::getId)
+            .toList();
+    List<Long> itemIds = items.stream().map(ShopItemResponse::getId).toList();
+    Map<Long, PurchaseCounts> counts = loadPurchaseCounts(ninjaId, itemIds, needsQuery);
+    Map<Long, Integer> stock = shopStockService.getLevels();
+
+    List<NinjaShopItemResponse> annotated = new ArrayList<>();
+    for (ShopItemResponse item : items) {
+      PurchaseCounts used = counts.get(item.getId());
+      Integer perStudent = remaining(item.getMaxPerStudent(), used.total());
+      Integer perDay = remaining(item.getMaxPerDay(), used.today());
+      Integer lifetime = remaining(item.getMaxLifetime(), used.total());
+      Integer active = remaining(item.getMaxActiveAtOnce(), used.active());
+
+      String blockedBy = null;
+      if (perStudent != null && perStudent == 0) {
+        blockedBy = "per student";
+      } else if (perDay != null && perDay == 0) {
+        blockedBy = "per day";
+      } else if (lifetime != null && lifetime == 0) {
+        blockedBy = "lifetime";
+      } else if (active != null && active == 0) {
+        blockedBy = "active at once";
+      }
+
+      Integer remainingPurchases = null;
+      for (Integer limit : new Integer[] {perStudent, perDay, lifetime, active}) {
+        if (limit != null && (remainingPurchases == null || limit < remainingPurchases)) {
+          remainingPurchases = limit;
+        }
+      }
+
+      Integer stockRemaining = item.getStockQuantity() != null ? stock.get(item.getId()) : null;
+      boolean affordable = balance >= item.getPrice();
+      boolean inStock = stockRemaining == null || stockRemaining > 0;
+      annotated.add(
+          new NinjaShopItemResponse(
+              item,
+              affordable,
+              Math.max(0, item.getPrice() - balance),
+              remainingPurchases,
+              perDay,
+              blockedBy,
+              stockRemaining,
+              !ninja.isLocked() && affordable && blockedBy == null && inStock));
+    }
+    return new NinjaShopResponse(ninjaId, balance, ninja.isLocked(), annotated);
+  }
+
+  private static Integer remaining(Integer max, long used) {
+    return max != null ? (int) Math.max(0, max - used) : null;
   }
 
-  public List<ShopItem> getAllItems() {
-    return shopItemRepository.findAll();
+  public Map<Long, Integer> getStockLevels() {
+    return Map.copyOf(shopStockService.getLevels());
   }
 
-  public List<ShopItem> getItemsByCategory(String category) {
-    return shopItemRepository.findByCategory(category);
+  // synchronized so two refreshes can't publish out of order. the version stays ahead of the
+  // clock's millis so ETags from before a restart don't get reused
+  public synchronized ShopCatalog refreshCatalog() {
+    ShopCatalog previous = catalog.get();
+    long version =
+        Math.max(previous != null ? previous.getVersion() + 1 : 0, System.currentTimeMillis());
+    ShopCatalog next = new ShopCatalog(version, Instant.now(), shopItemRepository.findAll());
+    catalog.set(next);
+    return next;
+  }
+
+  private void refreshCatalogAfterCommit() {
+    TransactionUtils.afterCommit(
+        () -> {
+          refreshCatalog();
+          shopStockService.reload();
+        });
   }
 
   public ShopItem getItem(Long itemId) {
@@ -49,8 +204,14 @@ public class ShopService {
         .orElseThrow(() -> new ShopItemNotFoundException(itemId));
   }
 
-  @Transactional
+  // limited-stock items are queued through ShopStockService, which holds its gate until the
+  // purchase transaction has committed
   public Purchase purchaseItem(Long ninjaId, Long itemId) {
+    return shopStockService.admit(
+        itemId, () -> transactionTemplate.execute(status -> doPurchaseItem(ninjaId, itemId)));
+  }
+
+  private Purchase doPurchaseItem(Long ninjaId, Long itemId) {
     Ninja ninja =
         ninjaRepository.findById(ninjaId).orElseThrow(() -> new NinjaNotFoundException(ninjaId));
 
@@ -67,6 +228,12 @@ public class ShopService {
       throw new ShopItemUnavailableException(item.getName());
     }
 
+    // stock goes first so a sold out item is rejected before limits or the ledger are read
+    Integer remaining = shopStockService.take(item, 1);
+    if (remaining != null && remaining == 0) {
+      refreshCatalogAfterCommit();
+    }
+
     checkPurchaseLimits(ninja, item);
 
     int currentBalance = ledgerService.getBuxBalance(ninjaId);
@@ -78,45 +245,182 @@ public class ShopService {
     purchase = purchaseRepository.save(purchase);
 
     ledgerService.recordPurchaseSpend(purchase);
+    uniqueActivityService.record(ActivityMetric.SHOPPER, ninjaId, purchase.getPurchaseDate());
+    activityWindowService.recordPurchase(
+        ninjaId, purchase.getPricePaid(), purchase.getPurchaseDate());
+    dailyPurchaseCounter.record(ninjaId, itemId, purchase.getPurchaseDate(), 1);
+
+    outboxService.enqueueAchievementCheck(ninjaId, AchievementTrigger.PURCHASE);
+    redemptionQueueService.publishAddedAfterCommit(List.of(purchase));
 
     return purchase;
   }
 
-  private void checkPurchaseLimits(Ninja ninja, ShopItem item) {
-    if (item.getMaxPerStudent() != null) {
-      long currentCount = purchaseRepository.countByNinjaAndShopItem(ninja, item);
-      if (currentCount >= item.getMaxPerStudent()) {
-        throw new PurchaseLimitExceededException(
-            "per student", (int) currentCount, item.getMaxPerStudent());
-      }
+  // the whole cart commits or none of it does: one ninja load, one limit read and one balance
+  // read up front, then the purchases and their spends are saved with saveAll
+  public CheckoutResponse checkout(Long ninjaId, List<Long> itemIds) {
+    return shopStockService.admit(
+        itemIds, () -> transactionTemplate.execute(status -> doCheckout(ninjaId, itemIds)));
+  }
+
+  private CheckoutResponse doCheckout(Long ninjaId, List<Long> itemIds) {
+    Ninja ninja =
+        ninjaRepository.findById(ninjaId).orElseThrow(() -> new NinjaNotFoundException(ninjaId));
+
+    if (ninja.isLocked()) {
+      throw new AccountLockedException("Account is locked");
     }
 
-    if (item.getMaxPerDay() != null) {
-      LocalDateTime startOfDay = LocalDate.now().atStartOfDay();
-      long todayCount =
-          purchaseRepository.countByNinjaAndShopItemAndPurchaseDateAfter(ninja, item, startOfDay);
-      if (todayCount >= item.getMaxPerDay()) {
-        throw new PurchaseLimitExceededException("per day", (int) todayCount, item.getMaxPerDay());
+    Map<Long, Integer> quantities = new LinkedHashMap<>();
+    for (Long itemId : itemIds) {
+      quantities.merge(itemId, 1, Integer::sum);
+    }
+
+    Map<Long, ShopItem> items = new HashMap<>();
+    for (ShopItem item : shopItemRepository.findAllById(quantities.keySet())) {
+      items.put(item.getId(), item);
+    }
+
+    boolean soldOut = false;
+    int totalPrice = 0;
+    for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+      ShopItem item = items.get(entry.getKey());
+      if (item == null) {
+        throw new ShopItemNotFoundException(entry.getKey());
       }
+      if (!item.isAvailable()) {
+        throw new ShopItemUnavailableException(item.getName());
+      }
+      Integer remaining = shopStockService.take(item, entry.getValue());
+      soldOut |= remaining != null && remaining == 0;
+      totalPrice += item.getPrice() * entry.getValue();
+    }
+    if (soldOut) {
+      refreshCatalogAfterCommit();
     }
 
-    if (item.getMaxLifetime() != null) {
-      long lifetimeCount = purchaseRepository.countByNinjaAndShopItem(ninja, item);
-      if (lifetimeCount >= item.getMaxLifetime()) {
-        throw new PurchaseLimitExceededException(
-            "lifetime", (int) lifetimeCount, item.getMaxLifetime());
+    List<ShopItem> limited = items.values().stream().filter(this::hasPurchaseLimits).toList();
+    if (!limited.isEmpty()) {
+      Map<Long, PurchaseCounts> counts = loadPurchaseCounts(ninjaId, limited);
+      for (ShopItem item : limited) {
+        checkPurchaseLimits(
+            item,
+            counts.getOrDefault(item.getId(), PurchaseCounts.NONE),
+            quantities.get(item.getId()));
       }
     }
 
-    if (item.getMaxActiveAtOnce() != null) {
-      long activeCount =
-          purchaseRepository.countByNinjaAndShopItemAndStatus(
-              ninja, item, PurchaseStatus.PURCHASED);
-      if (activeCount >= item.getMaxActiveAtOnce()) {
-        throw new PurchaseLimitExceededException(
-            "active at once", (int) activeCount, item.getMaxActiveAtOnce());
+    int currentBalance = ledgerService.getBuxBalance(ninjaId);
+    if (currentBalance < totalPrice) {
+      throw new InsufficientFundsException(currentBalance, totalPrice);
+    }
+
+    List<Purchase> purchases = new ArrayList<>();
+    for (Long itemId : itemIds) {
+      ShopItem item = items.get(itemId);
+      purchases.add(new Purchase(ninja, item, item.getPrice()));
+    }
+    purchases = purchaseRepository.saveAll(purchases);
+    ledgerService.recordPurchaseSpends(purchases);
+
+    for (Purchase purchase : purchases) {
+      uniqueActivityService.record(ActivityMetric.SHOPPER, ninjaId, purchase.getPurchaseDate());
+      activityWindowService.recordPurchase(
+          ninjaId, purchase.getPricePaid(), purchase.getPurchaseDate());
+      dailyPurchaseCounter.record(
+          ninjaId, purchase.getShopItem().getId(), purchase.getPurchaseDate(), 1);
+    }
+    outboxService.enqueueAchievementCheck(ninjaId, AchievementTrigger.PURCHASE);
+    redemptionQueueService.publishAddedAfterCommit(purchases);
+
+    return new CheckoutResponse(
+        purchases.stream().map(PurchaseResponse::new).toList(),
+        totalPrice,
+        currentBalance - totalPrice);
+  }
+
+  private void checkPurchaseLimits(Ninja ninja, ShopItem item) {
+    if (!hasPurchaseLimits(item)) {
+      return;
+    }
+    PurchaseCounts counts =
+        loadPurchaseCounts(ninja.getId(), List.of(item))
+            .getOrDefault(item.getId(), PurchaseCounts.NONE);
+    checkPurchaseLimits(item, counts, 1);
+  }
+
+  // quantity is how many of this item are being bought now
+  private void checkPurchaseLimits(ShopItem item, PurchaseCounts counts, int quantity) {
+    if (item.getMaxPerStudent() != null && counts.total() + quantity > item.getMaxPerStudent()) {
+      throw new PurchaseLimitExceededException(
+          "per student", (int) counts.total(), item.getMaxPerStudent());
+    }
+
+    if (item.getMaxPerDay() != null && counts.today() + quantity > item.getMaxPerDay()) {
+      throw new PurchaseLimitExceededException(
+          "per day", (int) counts.today(), item.getMaxPerDay());
+    }
+
+    if (item.getMaxLifetime() != null && counts.total() + quantity > item.getMaxLifetime()) {
+      throw new PurchaseLimitExceededException(
+          "lifetime", (int) counts.total(), item.getMaxLifetime());
+    }
+
+    if (item.getMaxActiveAtOnce() != null
+        && counts.active() + quantity > item.getMaxActiveAtOnce()) {
+      throw new PurchaseLimitExceededException(
+          "active at once", (int) counts.active(), item.getMaxActiveAtOnce());
+    }
+  }
+
+  private boolean hasPurchaseLimits(ShopItem item) {
+    return item.getMaxPerStudent() != null
+        || item.getMaxPerDay() != null
+        || item.getMaxLifetime() != null
+        || item.getMaxActiveAtOnce() != null;
+  }
+
+  private Map<Long, PurchaseCounts> loadPurchaseCounts(Long ninjaId, Collection<ShopItem> items) {
+    List<Long> needsQuery =
+        items.stream()
+            .filter(
+                item ->
+                    needsStoredCounts(
+                        item.getMaxPerStudent(), item.getMaxLifetime(), item.getMaxActiveAtOnce()))
+            .map(ShopItem::getId)
+            .toList();
+    return loadPurchaseCounts(ninjaId, items.stream().map(ShopItem::getId).toList(), needsQuery);
+  }
+
+  private static boolean needsStoredCounts(
+      Integer maxPerStudent, Integer maxLifetime, Integer maxActiveAtOnce) {
+    return maxPerStudent != null || maxLifetime != null || maxActiveAtOnce != null;
+  }
+
+  // today's count comes from memory; the grouped query only runs for the items in needsQuery,
+  // the ones that also have a lifetime, per-student or active-at-once limit
+  private Map<Long, PurchaseCounts> loadPurchaseCounts(
+      Long ninjaId, Collection<Long> itemIds, Collection<Long> needsQuery) {
+    Map<Long, long[]> stored = new HashMap<>();
+    if (!needsQuery.isEmpty()) {
+      for (Object[] row : purchaseRepository.countForLimits(ninjaId, needsQuery)) {
+        long total = ((Number) row[1]).longValue();
+        long active = ((Number) row[2]).longValue();
+        stored.put((Long) row[0], new long[] {total, active});
       }
     }
+
+    Map<Long, PurchaseCounts> counts = new HashMap<>();
+    for (Long itemId : itemIds) {
+      long[] row = stored.getOrDefault(itemId, new long[2]);
+      long today = dailyPurchaseCounter.countToday(ninjaId, itemId);
+      counts.put(itemId, new PurchaseCounts(row[0], today, row[1]));
+    }
+    return counts;
+  }
+
+  private record PurchaseCounts(long total, long today, long active) {
+    static final PurchaseCounts NONE = new PurchaseCounts(0, 0, 0);
   }
 
   public List<Purchase> getNinjaPurchases(Long ninjaId) {
@@ -125,6 +429,50 @@ public class ShopService {
     return purchaseRepository.findByNinjaOrderByPurchaseDateDesc(ninja);
   }
 
+  public PurchaseHistoryPage getPurchaseHistory(
+      Long ninjaId, LocalDateTime beforeDate, Long beforeId, int limit) {
+    if (!ninjaRepository.existsById(ninjaId)) {
+      throw new NinjaNotFoundException(ninjaId);
+    }
+    PageRequest page = historyPage(limit);
+    return toHistoryPage(
+        purchaseRepository.findHistoryByNinja(
+            ninjaId, beforeDate, beforeDate != null ? beforeId : null, page),
+        page);
+  }
+
+  // admin view across all ninjas; from/to are inclusive days
+  public PurchaseHistoryPage getAllPurchaseHistory(
+      Long itemId,
+      PurchaseStatus status,
+      LocalDate from,
+      LocalDate to,
+      LocalDateTime beforeDate,
+      Long beforeId,
+      int limit) {
+    PageRequest page = historyPage(limit);
+    return toHistoryPage(
+        purchaseRepository.findHistory(
+            itemId,
+            status,
+            from != null ? dojoClock.startOf(from) : null,
+            to != null ? dojoClock.startOf(to.plusDays(1)) : null,
+            beforeDate,
+            beforeDate != null ? beforeId : null,
+            page),
+        page);
+  }
+
+  private PageRequest historyPage(int limit) {
+    return PageRequest.of(0, Math.max(1, Math.min(limit, MAX_HISTORY_PAGE_SIZE)));
+  }
+
+  private PurchaseHistoryPage toHistoryPage(List<PurchaseHistoryEntry> rows, PageRequest page) {
+    PurchaseHistoryEntry last = rows.size() < page.getPageSize() ? null : rows.get(rows.size() - 1);
+    return new PurchaseHistoryPage(
+        rows, last != null ? last.getPurchaseDate() : null, last != null ? last.getId() : null);
+  }
+
   public List<Purchase> getUnredeemedPurchases(Long ninjaId) {
     Ninja ninja =
         ninjaRepository.findById(ninjaId).orElseThrow(() -> new NinjaNotFoundException(ninjaId));
@@ -144,6 +492,7 @@ public class ShopService {
 
     purchase.setStatus(PurchaseStatus.REDEEMED);
     purchase.setRedeemedDate(LocalDateTime.now());
+    redemptionQueueService.publishRemovedAfterCommit(List.of(purchaseId));
     return purchaseRepository.save(purchase);
   }
 
@@ -165,7 +514,16 @@ public class ShopService {
     ledgerService.recordPurchaseRefund(
         purchase, String.format("Refund for purchase: %s", purchase.getShopItem().getName()));
 
+    if (purchase.getStatus() == PurchaseStatus.PURCHASED) {
+      redemptionQueueService.publishRemovedAfterCommit(List.of(purchaseId));
+    }
     purchase.setStatus(PurchaseStatus.REFUNDED);
+    Integer remaining = shopStockService.putBack(purchase.getShopItem(), 1);
+    if (remaining != null && remaining == 1) {
+      refreshCatalogAfterCommit();
+    }
+    activityWindowService.recordRefund(
+        purchase.getNinja().getId(), purchase.getPricePaid(), purchase.getPurchaseDate());
     return purchaseRepository.save(purchase);
   }
 
@@ -178,14 +536,18 @@ public class ShopService {
       Integer maxPerDay,
       Integer maxLifetime,
       Integer maxActiveAtOnce,
-      String restrictedCategories) {
+      String restrictedCategories,
+      Integer stockQuantity) {
     ShopItem item = new ShopItem(name, description, price, category);
     item.setMaxPerStudent(maxPerStudent);
     item.setMaxPerDay(maxPerDay);
     item.setMaxLifetime(maxLifetime);
     item.setMaxActiveAtOnce(maxActiveAtOnce);
     item.setRestrictedCategories(restrictedCategories);
-    return shopItemRepository.save(item);
+    item.setStockQuantity(stockQuantity);
+    item = shopItemRepository.save(item);
+    refreshCatalogAfterCommit();
+    return item;
   }
 
   @Transactional
@@ -195,7 +557,9 @@ public class ShopService {
             .findById(itemId)
             .orElseThrow(() -> new ShopItemNotFoundException(itemId));
     item.setAvailable(available);
-    return shopItemRepository.save(item);
+    item = shopItemRepository.save(item);
+    refreshCatalogAfterCommit();
+    return item;
   }
 
   @Transactional
@@ -209,7 +573,9 @@ public class ShopService {
       Integer maxPerDay,
       Integer maxLifetime,
       Integer maxActiveAtOnce,
-      String restrictedCategories) {
+      String restrictedCategories,
+      boolean updateStock,
+      Integer stockQuantity) {
     ShopItem item =
         shopItemRepository
             .findById(itemId)
@@ -223,7 +589,79 @@ public class ShopService {
     item.setMaxLifetime(maxLifetime);
     item.setMaxActiveAtOnce(maxActiveAtOnce);
     item.setRestrictedCategories(restrictedCategories);
-    return shopItemRepository.save(item);
+    item = shopItemRepository.save(item);
+    if (updateStock) {
+      shopStockService.setStock(item, stockQuantity);
+    }
+    refreshCatalogAfterCommit();
+    return item;
+  }
+
+  // pulls the item from the shop, then refunds every outstanding PURCHASED instance in chunks.
+  // Each chunk is its own transaction with one saveAll for the refunds and batched status
+  // updates, so a popular item never holds one huge transaction open
+  public DiscontinueItemResponse discontinueAndRefund(Long itemId) {
+    long started = System.currentTimeMillis();
+    ShopItem item =
+        transactionTemplate.execute(
+            status -> {
+              ShopItem found =
+                  shopItemRepository
+                      .findById(itemId)
+                      .orElseThrow(() -> new ShopItemNotFoundException(itemId));
+              found.setAvailable(false);
+              refreshCatalogAfterCommit();
+              return shopItemRepository.save(found);
+            });
+
+    String note = String.format("Refund: %s was discontinued", item.getName());
+    Set<Long> ninjas = new HashSet<>();
+    int refunded = 0;
+    int buxRefunded = 0;
+    Long afterId = 0L;
+    while (true) {
+      Long cursor = afterId;
+      List<Purchase> chunk =
+          transactionTemplate.execute(status -> refundChunk(item, cursor, note));
+      if (chunk.isEmpty()) {
+        break;
+      }
+      for (Purchase purchase : chunk) {
+        ninjas.add(purchase.getNinja().getId());
+        buxRefunded += purchase.getPricePaid();
+      }
+      refunded += chunk.size();
+      afterId = chunk.get(chunk.size() - 1).getId();
+    }
+
+    logger.info("Discontinued {} and refunded {} purchases", item.getName(), refunded);
+    return new DiscontinueItemResponse(
+        itemId,
+        item.getName(),
+        refunded,
+        buxRefunded,
+        ninjas.size(),
+        System.currentTimeMillis() - started);
+  }
+
+  private List<Purchase> refundChunk(ShopItem item, Long afterId, String note) {
+    List<Purchase> chunk =
+        purchaseRepository.findActiveByItemAfter(
+            item.getId(), afterId, PageRequest.of(0, refundChunkSize));
+    if (chunk.isEmpty()) {
+      return chunk;
+    }
+
+    ledgerService.recordPurchaseRefunds(chunk, note);
+    for (Purchase purchase : chunk) {
+      purchase.setStatus(PurchaseStatus.REFUNDED);
+      activityWindowService.recordRefund(
+          purchase.getNinja().getId(), purchase.getPricePaid(), purchase.getPurchaseDate());
+    }
+    shopStockService.putBack(item, chunk.size());
+    redemptionQueueService.publishRemovedAfterCommit(
+        chunk.stream().map(Purchase::getId).toList());
+    return chunk;
   }
 
   @Transactional
@@ -232,5 +670,6 @@ public class ShopService {
       throw new ShopItemNotFoundException(itemId);
     }
     shopItemRepository.deleteById(itemId);
+    refreshCatalogAfterCommit();
   }
 }
@@ -0,0 +1,137 @@
+package com.example.NinjaBux.service;
+
+import com.example.NinjaBux.domain.ShopItem;
+import com.example.NinjaBux.exception.ShopItemSoldOutException;
+import com.example.NinjaBux.repository.ShopItemRepository;
+import com.example.NinjaBux.util.TransactionUtils;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+// stock for limited items (ShopItem.stockQuantity != null). the conditional UPDATE in take() is
+// what actually stops overselling; the in-memory levels are only used to turn buyers away early
+// and to answer the shop page without a query
+@Service
+public class ShopStockService {
+
+  public static final String STOCK_TOPIC = "/topic/shop/stock";
+
+  @Autowired private ShopItemRepository shopItemRepository;
+
+  @Autowired private NotificationService notificationService;
+
+  private final Map<Long, Integer> levels = new ConcurrentHashMap<>();
+  private final Map<Long, String> names = new ConcurrentHashMap<>();
+  private final Map<Long, ReentrantLock> gates = new ConcurrentHashMap<>();
+  private volatile boolean loaded;
+
+  // buyers of a limited item go through one at a time in arrival order (fair lock) and the lock
+  // is held until their transaction commits, so anyone still queued when it sells out is turned
+  // away from the in-memory level without touching the ledger
+  public <T> T admit(Long itemId, Supplier<T> purchase) {
+    return admit(List.of(itemId), purchase);
+  }
+
+  // for a cart: gates are taken in id order so two carts can't deadlock on each other
+  public <T> T admit(Collection<Long> itemIds, Supplier<T> purchase) {
+    List<Long> limited =
+        itemIds.stream().distinct().filter(getLevels()::containsKey).sorted().toList();
+    if (limited.isEmpty()) {
+      return purchase.get();
+    }
+    limited.forEach(this::checkInStock);
+
+    List<ReentrantLock> held = new ArrayList<>();
+    try {
+      for (Long itemId : limited) {
+        ReentrantLock gate = gates.computeIfAbsent(itemId, id -> new ReentrantLock(true));
+        gate.lock();
+        held.add(gate);
+      }
+      limited.forEach(this::checkInStock);
+      return purchase.get();
+    } finally {
+      for (int i = held.size() - 1; i >= 0; i--) {
+        held.get(i).unlock();
+      }
+    }
+  }
+
+  // call inside the purchase transaction, returns what's left (null for unlimited items)
+  public Integer take(ShopItem item, int quantity) {
+    if (item.getStockQuantity() == null) {
+      return null;
+    }
+    if (shopItemRepository.decrementStock(item.getId(), quantity) == 0) {
+      Integer actual = shopItemRepository.findStockQuantity(item.getId());
+      if (actual != null) {
+        levels.put(item.getId(), actual);
+      }
+      throw new ShopItemSoldOutException(item.getName());
+    }
+    return publishAfterCommit(item.getId());
+  }
+
+  // a refunded purchase goes back on the shelf
+  public Integer putBack(ShopItem item, int quantity) {
+    if (item.getStockQuantity() == null) {
+      return null;
+    }
+    shopItemRepository.incrementStock(item.getId(), quantity);
+    return publishAfterCommit(item.getId());
+  }
+
+  // explicit admin change. the row lock on the UPDATE orders it with in-flight take() calls;
+  // levels for items switching between limited and unlimited are picked up by reload()
+  public void setStock(ShopItem item, Integer quantity) {
+    shopItemRepository.setStock(item.getId(), quantity);
+    item.setStockQuantity(quantity);
+    if (quantity != null) {
+      publishAfterCommit(item.getId());
+    }
+  }
+
+  public Map<Long, Integer> getLevels() {
+    if (!loaded) {
+      reload();
+    }
+    return levels;
+  }
+
+  // after an admin edits items, stock may have been set, changed or removed
+  public synchronized void reload() {
+    Map<Long, Integer> fresh = new HashMap<>();
+    for (Object[] row : shopItemRepository.findStockLevels()) {
+      fresh.put((Long) row[0], ((Number) row[1]).intValue());
+      names.put((Long) row[0], (String) row[2]);
+    }
+    levels.keySet().retainAll(fresh.keySet());
+    names.keySet().retainAll(fresh.keySet());
+    levels.putAll(fresh);
+    loaded = true;
+  }
+
+  private void checkInStock(Long itemId) {
+    Integer level = levels.get(itemId);
+    if (level != null && level <= 0) {
+      throw new ShopItemSoldOutException(names.getOrDefault(itemId, "#" + itemId));
+    }
+  }
+
+  private Integer publishAfterCommit(Long itemId) {
+    Integer remaining = shopItemRepository.findStockQuantity(itemId);
+    TransactionUtils.afterCommit(
+        () -> {
+          levels.put(itemId, remaining);
+          notificationService.send(STOCK_TOPIC, Map.of("itemId", itemId, "remaining", remaining));
+        });
+    return remaining;
+  }
+}
@@ -0,0 +1,138 @@
+package com.example.NinjaBux.service;
+
+import com.example.NinjaBux.domain.DailyUniqueSketch;
+import com.example.NinjaBux.domain.enums.ActivityMetric;
+import com.example.NinjaBux.repository.DailyUniqueSketchRepository;
+import com.example.NinjaBux.repository.NinjaLoginLogRepository;
+import com.example.NinjaBux.repository.ProgressHistoryRepository;
+import com.example.NinjaBux.repository.PurchaseRepository;
+import com.example.NinjaBux.util.HyperLogLog;
+import com.example.NinjaBux.util.TransactionUtils;
+import jakarta.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+// keeps one HyperLogLog per (metric, day) in memory and writes changed ones back periodically
+@Service
+public class UniqueActivityService {
+
+  private static final Logger logger = LoggerFactory.getLogger(UniqueActivityService.class);
+
+  @Autowired private DailyUniqueSketchRepository sketchRepository;
+
+  @Autowired private PurchaseRepository purchaseRepository;
+
+  @Autowired private ProgressHistoryRepository progressHistoryRepository;
+
+  @Autowired private NinjaLoginLogRepository loginLogRepository;
+
+  private final Map<SketchKey, HyperLogLog> sketches = new ConcurrentHashMap<>();
+  private final Set<SketchKey> dirty = ConcurrentHashMap.newKeySet();
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void loadSketches() {
+    List<DailyUniqueSketch> stored = sketchRepository.findAll();
+    for (DailyUniqueSketch sketch : stored) {
+      sketches.put(
+          new SketchKey(sketch.getMetric(), sketch.getActivityDate()),
+          HyperLogLog.fromBytes(sketch.getRegisters()));
+    }
+
+    if (stored.isEmpty()) {
+      rebuildFromHistory();
+    }
+    logger.info("Loaded {} unique activity sketches", sketches.size());
+  }
+
+  // only counted once the transaction that produced the activity has committed
+  public void record(ActivityMetric metric, Long ninjaId, LocalDateTime when) {
+    if (ninjaId == null || when == null) {
+      return;
+    }
+    TransactionUtils.afterCommit(() -> offer(metric, ninjaId, when.toLocalDate()));
+  }
+
+  public long countUnique(ActivityMetric metric, LocalDate start, LocalDate end) {
+    if (start.isAfter(end)) {
+      return 0;
+    }
+    HyperLogLog merged = new HyperLogLog();
+    for (LocalDate day = start; !day.isAfter(end); day = day.plusDays(1)) {
+      HyperLogLog sketch = sketches.get(new SketchKey(metric, day));
+      if (sketch != null) {
+        merged.merge(sketch);
+      }
+    }
+    return merged.estimate();
+  }
+
+  public long countUniqueLastDays(ActivityMetric metric, int days) {
+    LocalDate today = LocalDate.now();
+    return countUnique(metric, today.minusDays(days - 1L), today);
+  }
+
+  @Scheduled(fixedDelayString = "${ninjabux.analytics.sketch-flush-ms:60000}")
+  public void flush() {
+    for (SketchKey key : List.copyOf(dirty)) {
+      dirty.remove(key);
+      HyperLogLog sketch = sketches.get(key);
+      if (sketch == null) {
+        continue;
+      }
+      try {
+        DailyUniqueSketch row =
+            sketchRepository
+                .findByMetricAndActivityDate(key.metric(), key.day())
+                .orElseGet(() -> new DailyUniqueSketch(key.metric(), key.day(), null));
+        row.setRegisters(sketch.toBytes());
+        sketchRepository.save(row);
+      } catch (Exception e) {
+        dirty.add(key);
+        logger.error("Error saving unique activity sketch {}: {}", key, e.getMessage(), e);
+      }
+    }
+  }
+
+  @PreDestroy
+  public void flushOnShutdown() {
+    flush();
+  }
+
+  private void offer(ActivityMetric metric, Long ninjaId, LocalDate day) {
+    SketchKey key = new SketchKey(metric, day);
+    HyperLogLog sketch = sketches.computeIfAbsent(key, k -> new HyperLogLog());
+    if (sketch.offer(ninjaId)) {
+      dirty.add(key);
+    }
+  }
+
+  private void rebuildFromHistory() {
+    replay(ActivityMetric.SHOPPER, purchaseRepository.findNinjaIdsAndPurchaseDates());
+    replay(ActivityMetric.PROGRESSOR, progressHistoryRepository.findNinjaIdsAndProgressTimes());
+    replay(ActivityMetric.LOGIN, loginLogRepository.findNinjaIdsAndSuccessfulLoginTimes());
+    flush();
+  }
+
+  private void replay(ActivityMetric metric, List<Object[]> rows) {
+    for (Object[] row : rows) {
+      Long ninjaId = (Long) row[0];
+      LocalDateTime when = (LocalDateTime) row[1];
+      if (ninjaId != null && when != null) {
+        offer(metric, ninjaId, when.toLocalDate());
+      }
+    }
+  }
+
+  private record SketchKey(ActivityMetric metric, LocalDate day) {}
+}
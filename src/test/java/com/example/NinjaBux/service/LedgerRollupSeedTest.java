@@ -0,0 +1,71 @@
+package com.example.NinjaBux.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.NinjaBux.domain.Ninja;
+import com.example.NinjaBux.domain.enums.BeltType;
+import com.example.NinjaBux.domain.enums.LedgerSourceType;
+import com.example.NinjaBux.domain.enums.LedgerTxnType;
+import com.example.NinjaBux.dto.LedgerSourceBreakdownResponse;
+import com.example.NinjaBux.repository.LedgerDailyRollupRepository;
+import com.example.NinjaBux.repository.LedgerTxnRepository;
+import com.example.NinjaBux.repository.NinjaRepository;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(
+    properties = {
+      "spring.datasource.url=jdbc:h2:mem:ledgerrollupseed;DB_CLOSE_DELAY=-1",
+      "spring.jpa.hibernate.ddl-auto=create-drop"
+    })
+class LedgerRollupSeedTest {
+
+  @Autowired private LedgerRollupService ledgerRollupService;
+
+  @Autowired private LedgerService ledgerService;
+
+  @Autowired private NinjaRepository ninjaRepository;
+
+  @Autowired private LedgerTxnRepository ledgerTxnRepository;
+
+  @Autowired private LedgerDailyRollupRepository rollupRepository;
+
+  @Test
+  void txnCommittedBeforeSeedIsCountedOnce() {
+    // back to an empty rollup table, as on a fresh install
+    ledgerRollupService.flush();
+    rollupRepository.deleteAll();
+
+    Ninja ninja =
+        ninjaRepository.save(new Ninja("Seed", "Check", "rollup-seed", 0, 1, BeltType.BLACK));
+    // commits now, so its rollup delta is already pending when the seed runs
+    ledgerService.recordAdminAdjustment(ninja.getId(), 25, "Before seed", "test");
+
+    ledgerRollupService.initRollups();
+
+    // what the ledger itself says, grouped the same way the rollups are
+    LocalDate today = LocalDate.now();
+    LocalDateTime everything = LocalDateTime.now().plusDays(1);
+    Object[] expected =
+        ledgerTxnRepository.sumByDaySourceTypeAndBeltBefore(everything).stream()
+            .filter(row -> today.equals(row[0]))
+            .filter(row -> row[1] == LedgerSourceType.ADMIN && row[2] == LedgerTxnType.ADJUST)
+            .filter(row -> row[3] == BeltType.BLACK)
+            .findFirst()
+            .orElseThrow();
+    LedgerSourceBreakdownResponse breakdown =
+        ledgerRollupService.getBreakdown(today, today, BeltType.BLACK);
+    LedgerSourceBreakdownResponse.SourceTypeTotals admin =
+        breakdown.getRows().stream()
+            .filter(row -> row.getSource() == LedgerSourceType.ADMIN)
+            .filter(row -> row.getType() == LedgerTxnType.ADJUST)
+            .findFirst()
+            .orElseThrow();
+
+    assertEquals(((Number) expected[6]).longValue(), admin.getCount());
+    assertEquals(((Number) expected[4]).longValue(), admin.getEarned());
+  }
+}
@@ -0,0 +1,91 @@
+package com.example.NinjaBux.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.example.NinjaBux.domain.Ninja;
+import com.example.NinjaBux.domain.ShopItem;
+import com.example.NinjaBux.domain.enums.BeltType;
+import com.example.NinjaBux.exception.ShopItemSoldOutException;
+import com.example.NinjaBux.repository.NinjaRepository;
+import com.example.NinjaBux.repository.PurchaseRepository;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest(
+    properties = {
+      "spring.datasource.url=jdbc:h2:mem:shopstock;DB_CLOSE_DELAY=-1",
+      "spring.jpa.hibernate.ddl-auto=create-drop"
+    })
+class ShopStockConcurrencyTest {
+
+  private static final int BUYERS = 100;
+  private static final int STOCK = 5;
+
+  @Autowired private ShopService shopService;
+
+  @Autowired private LedgerService ledgerService;
+
+  @Autowired private NinjaRepository ninjaRepository;
+
+  @Autowired private PurchaseRepository purchaseRepository;
+
+  @Test
+  void concurrentBuyersNeverOversell() throws Exception {
+    ShopItem item =
+        shopService.createItem(
+            "Free Project Day", "A whole class on your own project", 10, "experience",
+            null, null, null, null, null, STOCK);
+
+    List<Long> ninjaIds = new ArrayList<>();
+    for (int i = 0; i < BUYERS; i++) {
+      Ninja ninja =
+          ninjaRepository.save(
+              new Ninja("Buyer", "No" + i, "stock-buyer-" + i, 0, 1, BeltType.WHITE));
+      ledgerService.recordAdminAdjustment(ninja.getId(), 100, "Test funds", "test");
+      ninjaIds.add(ninja.getId());
+    }
+
+    ExecutorService pool = Executors.newFixedThreadPool(BUYERS);
+    CountDownLatch start = new CountDownLatch(1);
+    AtomicInteger bought = new AtomicInteger();
+    AtomicInteger soldOut = new AtomicInteger();
+    List<Future<?>> buyers = new ArrayList<>();
+    for (Long ninjaId : ninjaIds) {
+      buyers.add(
+          pool.submit(
+              () -> {
+                start.await();
+                try {
+                  shopService.purchaseItem(ninjaId, item.getId());
+                  bought.incrementAndGet();
+                } catch (ShopItemSoldOutException e) {
+                  soldOut.incrementAndGet();
+                }
+                return null;
+              }));
+    }
+    start.countDown();
+    for (Future<?> buyer : buyers) {
+      buyer.get(60, TimeUnit.SECONDS);
+    }
+    pool.shutdown();
+
+    assertEquals(STOCK, bought.get());
+    assertEquals(BUYERS - STOCK, soldOut.get());
+    assertEquals(0, shopService.getItem(item.getId()).getStockQuantity());
+    assertEquals(
+        STOCK,
+        purchaseRepository.findAll().stream()
+            .filter(p -> p.getShopItem().getId().equals(item.getId()))
+            .count());
+  }
+}